@@ -0,0 +1,60 @@
+package com.openclassrooms.mddapi.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration du cache applicatif.
+ * Déclare les caches des thèmes et des profils utilisateurs, bornés en taille et en durée de vie.
+ * Un autre fournisseur peut être utilisé via spring.cache.type : la configuration de Spring Boot prend alors le relais.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfig {
+    public static final String SUBJECTS = "subjects";
+    public static final String USERS = "users";
+
+    @Value("${mddapi.cache.subjects.max-size:100}")
+    private long subjectsMaxSize;
+
+    @Value("${mddapi.cache.subjects.ttl:1h}")
+    private Duration subjectsTtl;
+
+    @Value("${mddapi.cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${mddapi.cache.users.ttl:10m}")
+    private Duration usersTtl;
+
+    /**
+     * Définit le CacheManager Caffeine. Les statistiques sont activées pour être publiées par Actuator
+     * (cache.gets, cache.puts, cache.evictions).
+     *
+     * @return le CacheManager contenant les caches des thèmes et des utilisateurs
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(SUBJECTS, Caffeine.newBuilder()
+                .maximumSize(subjectsMaxSize)
+                .expireAfterWrite(subjectsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(usersMaxSize)
+                .expireAfterWrite(usersTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,29 @@
+package com.openclassrooms.mddapi.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration de l'ObjectMapper utilisé pour les requêtes et réponses JSON.
+ * Les contrôleurs ne renvoient que des DTO : la sortie est compacte par défaut et les accesseurs
+ * sont appelés par des lambdas générées (module Blackbird) plutôt que par réflexion.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Value("${mddapi.json.indent-output:false}")
+    private boolean indentOutput;
+
+    @Bean
+    public ObjectMapper objectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new BlackbirdModule());
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(SerializationFeature.INDENT_OUTPUT, indentOutput);
+        return mapper;
+    }
+}
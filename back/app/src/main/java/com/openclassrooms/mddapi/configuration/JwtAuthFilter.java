@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,8 +18,11 @@ import java.io.IOException;
  * Ce filtre est exécuté une fois par requête pour vérifier le token JWT dans l'en-tête de la requête.
  */
 
+@Slf4j
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final UserAuthProvider userAuthProvider;
 
     /**
@@ -37,15 +41,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
 
-        if (header != null) {
-            String[] authElements = header.split(" ");
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            String token = header.substring(BEARER_PREFIX.length());
 
-            if (authElements.length == 2 && "Bearer".equals(authElements[0])) {
+            if (!token.isEmpty() && token.indexOf(' ') < 0) {
                 try {
-                    SecurityContextHolder.getContext().setAuthentication(userAuthProvider.validateToken(authElements[1]));
+                    SecurityContextHolder.getContext().setAuthentication(userAuthProvider.validateToken(token));
                 } catch (RuntimeException e) {
                     SecurityContextHolder.clearContext();
-                    System.out.println("Unauthorized error: " + e.getMessage());
+                    log.debug("Rejected JWT: {}", e.getMessage());
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
                     return;
                 }
@@ -0,0 +1,108 @@
+package com.openclassrooms.mddapi.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.time.Duration;
+
+/**
+ * Configuration de la sécurité Spring pour l'application.
+ * Définit les règles de sécurité et les filtres de sécurité à appliquer.
+ */
+@RequiredArgsConstructor
+@EnableWebSecurity
+@Configuration
+public class SecurityConfig {
+    private final UserAuthProvider userAuthProvider;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${security.password.hashing.timeout:5s}")
+    private Duration hashingTimeout;
+
+/**
+ * Définit le bean PasswordEncoder pour encoder les mots de passe des utilisateurs.
+ * Le hachage bcrypt est exécuté sur un pool dédié et borné (par défaut un thread par processeur).
+ *
+ * @param meterRegistry le registre des métriques du pool de hachage
+ * @return une instance de BoundedPasswordEncoder déléguant à BCryptPasswordEncoder
+ */
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int poolSize = hashingPoolSize > 0 ? hashingPoolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), poolSize,
+                hashingQueueCapacity, hashingTimeout, meterRegistry);
+    }
+
+
+    /**
+     * Configure les règles de sécurité des endpoints Actuator, quel que soit le port qui les sert :
+     * seuls la sonde de santé et le scrape Prometheus sont publics, les autres endpoints exigent un token.
+     *
+     * @param http l'objet HttpSecurity pour personnaliser les configurations de sécurité
+     * @return l'objet SecurityFilterChain construit
+     * @throws Exception si une erreur survient lors de la configuration de la sécurité
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .addFilterBefore(new JwtAuthFilter(userAuthProvider), BasicAuthenticationFilter.class)
+                .sessionManagement(customizer -> customizer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests((requests) ->
+                        requests
+                                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                                .anyRequest().authenticated()
+                );
+        return http.build();
+    }
+
+    /**
+     * Configure les règles de sécurité pour l'application.
+     *
+     * @param http l'objet HttpSecurity pour personnaliser les configurations de sécurité
+     * @return l'objet SecurityFilterChain construit
+     * @throws Exception si une erreur survient lors de la configuration de la sécurité
+     */
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http.csrf(AbstractHttpConfigurer::disable)
+                .addFilterBefore(new JwtAuthFilter(userAuthProvider), BasicAuthenticationFilter.class)
+                .sessionManagement(customizer -> customizer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+
+                .authorizeHttpRequests((requests) ->
+                        requests
+                                .requestMatchers(HttpMethod.POST, "/auth/login","/auth/register").permitAll()
+                                // Fin d'un flux SSE : le dispatch asynchrone ne repasse pas par le filtre JWT
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                .anyRequest().authenticated()
+                );
+        return  http.build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.openclassrooms.mddapi.configuration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate pour la requête HTTP traitée par le thread courant.
+ * Les statistiques Hibernate sont globales à la SessionFactory : ce compteur par thread permet de les attribuer
+ * à un point de terminaison. Un lot JDBC compte pour une requête ; les requêtes JdbcTemplate ne sont pas comptées.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Commence le comptage pour le thread courant.
+     */
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * Termine le comptage pour le thread courant.
+     *
+     * @return le nombre de requêtes préparées depuis l'appel à {@link #start()}, ou 0 si le comptage n'a pas commencé
+     */
+    public int stop() {
+        int[] current = count.get();
+        count.remove();
+        return current != null ? current[0] : 0;
+    }
+}
@@ -0,0 +1,182 @@
+package com.openclassrooms.mddapi.configuration;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composant pour la gestion de l'authentification des utilisateurs via JWT.
+ * Fournit des méthodes pour créer et valider des tokens JWT.
+ * L'algorithme et le vérificateur sont construits une seule fois ; les tokens déjà vérifiés sont gardés
+ * dans un cache borné, indexé par leur empreinte SHA-256, jusqu'à leur expiration.
+ * La création et la validation sont chronométrées (mddapi.jwt), la validation par issue : servie par le cache,
+ * vérifiée ou rejetée.
+ */
+
+@RequiredArgsConstructor
+@Component
+public class UserAuthProvider {
+    @Value("${security.jwt.token.secret-key:secret-key}")
+    private String secretKey;
+
+    @Value("${security.jwt.token.cache-size:10000}")
+    private long tokenCacheSize;
+
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
+    private Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    private final MeterRegistry meterRegistry;
+
+    private Timer createTimer;
+
+    private Timer cachedTimer;
+
+    private Timer verifiedTimer;
+
+    private Timer rejectedTimer;
+
+    /**
+     * Initialise la clé secrète en la convertissant en une chaîne de caractères Base64,
+     * puis construit l'algorithme, le vérificateur (thread-safe), le cache des tokens vérifiés et les métriques.
+     */
+    @PostConstruct
+    protected void init(){
+        secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+        algorithm = Algorithm.HMAC256(secretKey);
+        verifier = JWT.require(algorithm).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtTokens");
+        createTimer = jwtTimer("create", "success");
+        cachedTimer = jwtTimer("validate", "cached");
+        verifiedTimer = jwtTimer("validate", "verified");
+        rejectedTimer = jwtTimer("validate", "rejected");
+    }
+
+    private Timer jwtTimer(String operation, String outcome) {
+        return Timer.builder("mddapi.jwt")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Crée un token JWT pour un utilisateur donné.
+     *
+     * @param userDto l'objet de transfert de données contenant les informations de l'utilisateur
+     * @return le token JWT généré
+     */
+    public String createToken(UserDto userDto){
+        Timer.Sample sample = Timer.start();
+        Date now = new Date();
+        Date validity = new Date(now.getTime() + 3_600_000);
+
+        String token = JWT.create()
+                .withClaim("id", userDto.getId())
+                .withIssuer(userDto.getEmail())
+                .withIssuedAt(now)
+                .withExpiresAt(validity)
+                .withClaim("userName", userDto.getUserName())
+                .sign(algorithm);
+        sample.stop(createTimer);
+        return token;
+    }
+
+    /**
+     * Valide un token JWT et renvoie un objet Authentication.
+     * Un token déjà vérifié et non expiré est servi depuis le cache, sans recalcul de la signature HMAC
+     * ni décodage des claims.
+     *
+     * @param token le token JWT à valider
+     * @return l'objet Authentication correspondant
+     */
+    public Authentication validateToken(String token){
+        Timer.Sample sample = Timer.start();
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            sample.stop(cachedTimer);
+            return cached.authentication();
+        }
+
+        DecodedJWT decoded;
+        try {
+            decoded = verifier.verify(token);
+        } catch (RuntimeException e) {
+            sample.stop(rejectedTimer);
+            throw e;
+        }
+
+        UserDto userDto = UserDto.builder()
+                .id(decoded.getClaim("id").asLong())
+                .email(decoded.getIssuer())
+                .userName(decoded.getClaim("userName").asString())
+                .build();
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userDto, null, Collections.emptyList());
+        if (decoded.getExpiresAt() != null) {
+            verifiedTokens.put(key, new VerifiedToken(authentication, decoded.getExpiresAt().getTime()));
+        }
+        sample.stop(verifiedTimer);
+        return authentication;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(Authentication authentication, long expiresAt) {
+    }
+}
@@ -7,6 +7,7 @@ import com.openclassrooms.mddapi.model.dtos.SignUpDto;
 import com.openclassrooms.mddapi.model.dtos.UserDto;
 import com.openclassrooms.mddapi.services.IUserService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,6 +20,7 @@ import java.net.URI;
  * Fournit des points de terminaison pour l'inscription et la connexion.
  */
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @CrossOrigin(origins = "http://localhost:4200")
@@ -43,7 +45,7 @@ public class AuthController {
             user.setToken(userAuthProvider.createToken(user));
             return ResponseEntity.created(URI.create("/user/" + user.getId())).body(user);
         } catch (AppException e) {
-            System.out.println("Error during user registration: " + e.getMessage());
+            log.info("Registration rejected: {}", e.getMessage());
             return ResponseEntity.status(e.getHttpStatus()).body(null);
         }
     }
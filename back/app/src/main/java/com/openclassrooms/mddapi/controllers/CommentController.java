@@ -2,13 +2,14 @@ package com.openclassrooms.mddapi.controllers;
 
 
 import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
 import com.openclassrooms.mddapi.services.ICommentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.net.URI;
-import java.util.List;
 
 /**
  * Contrôleur gérant les opérations sur les commentaires.
@@ -40,16 +41,25 @@ public class CommentController {
     }
 
     /**
-     * Récupère tous les commentaires associés à un post spécifié.
+     * Récupère une page des commentaires associés à un post spécifié, du plus ancien au plus récent.
      *
      * @param postId l'identifiant du post pour lequel récupérer les commentaires
-     * @return une ResponseEntity contenant une liste de CommentDto représentant les commentaires du post ou un message d'erreur en cas de format d'ID de post invalide
+     * @param cursor le jeton de continuation renvoyé par la page précédente (absent pour la première page)
+     * @param size le nombre de commentaires par page (par défaut 20, au plus 100)
+     * @param request la requête, pour répondre 304 si les commentaires n'ont pas changé depuis l'ETag fourni
+     * @return une ResponseEntity contenant une PageDto de CommentDto et le jeton de la page suivante ou un message d'erreur en cas de format d'ID de post invalide
      */
     @GetMapping("/post/{postId}/comment")
-    public ResponseEntity<?> getComments(@PathVariable String postId) {
+    public ResponseEntity<?> getComments(@PathVariable String postId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         ServletWebRequest request) {
         try {
             Long postID = Long.parseLong(postId);
-            List<CommentDto> comments = commentService.getCommentsByPostId(postID);
+            if (ConditionalRequests.isNotModified(request, commentService.getCommentsWatermark(postID))) {
+                return null;
+            }
+            PageDto<CommentDto> comments = commentService.getCommentsByPostId(postID, cursor, size);
             return ResponseEntity.ok(comments);
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().body("Invalid post ID format");
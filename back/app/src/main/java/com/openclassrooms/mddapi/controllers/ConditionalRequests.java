@@ -0,0 +1,36 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.model.Watermark;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Réponses aux GET conditionnels (If-None-Match, If-Modified-Since) à partir des validateurs d'une ressource,
+ * lus avant toute requête de contenu : un client à jour reçoit un 304 sans que la ressource soit chargée ni sérialisée.
+ */
+final class ConditionalRequests {
+
+    /**
+     * Le client peut garder la réponse (mais pas un cache partagé) et doit la revalider avant chaque usage.
+     */
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Ajoute l'ETag et la date de dernière modification à la réponse et les compare aux en-têtes de la requête.
+     *
+     * @param request la requête en cours
+     * @param watermark les validateurs de la ressource demandée
+     * @return true si le client possède déjà la représentation à jour : la réponse est alors un 304,
+     * et le contrôleur doit renvoyer null
+     */
+    static boolean isNotModified(ServletWebRequest request, Watermark watermark) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(watermark.etag(), watermark.lastModified());
+    }
+}
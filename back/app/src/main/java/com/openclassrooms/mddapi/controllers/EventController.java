@@ -0,0 +1,49 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.services.IEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Contrôleur du flux d'événements (Server-Sent Events) de l'utilisateur connecté.
+ */
+@RestController
+@RequiredArgsConstructor
+public class EventController {
+
+    private final IEventService eventService;
+
+    /**
+     * Ouvre le flux d'événements de l'utilisateur connecté : événements "post" pour les nouveaux posts de ses thèmes
+     * et, si postId est fourni, événements "comment" pour les nouveaux commentaires de ce post.
+     *
+     * @param user l'utilisateur authentifié
+     * @param postId l'identifiant du post consulté (optionnel)
+     * @return le flux d'événements
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal UserDto user, @RequestParam(required = false) Long postId) {
+        return eventService.connect(user.getId(), postId);
+    }
+
+    /**
+     * Le client du flux n'accepte que text/event-stream, où l'ErrorDto JSON ne peut être écrit :
+     * un refus (503 quand trop de flux sont ouverts) est renvoyé avec son seul statut.
+     *
+     * @param ex l'erreur levée à l'ouverture du flux
+     * @return une réponse sans corps portant le statut de l'erreur
+     */
+    @ExceptionHandler(AppException.class)
+    public ResponseEntity<Void> handleException(AppException ex) {
+        return ResponseEntity.status(ex.getHttpStatus()).build();
+    }
+}
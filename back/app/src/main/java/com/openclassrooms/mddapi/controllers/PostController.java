@@ -0,0 +1,157 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.model.FeedFilter;
+import com.openclassrooms.mddapi.model.Watermark;
+import com.openclassrooms.mddapi.model.dtos.FeedPostDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+import com.openclassrooms.mddapi.model.dtos.PostImportReportDto;
+import com.openclassrooms.mddapi.services.IPostImportService;
+import com.openclassrooms.mddapi.services.IPostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * Contrôleur gérant les opérations sur les posts.
+ * Fournit des points de terminaison pour créer, récupérer tous les posts et récupérer un post par identifiant.
+ */
+@RestController
+@RequiredArgsConstructor
+public class PostController {
+
+    private final IPostService postService;
+
+    private final IPostImportService postImportService;
+
+    /**
+     * Récupère tous les posts, triés par un champ spécifique.
+     *
+    * @param postDto l'objet de transfert de données contenant les critères de récupération des posts
+     * @param sortBy le champ par lequel trier les résultats : "date", "title" ou "id" (par défaut, "date")
+     * @param order l'ordre de tri (ascendant ou descendant, par défaut "desc")
+     * @param size le nombre maximum de posts à renvoyer (par défaut 20, au plus 100)
+     * @param latestComment true pour joindre à chaque post son dernier commentaire (par défaut false)
+     * @param request la requête, pour répondre 304 si le fil n'a pas changé depuis l'ETag fourni
+     * @return une liste de PostDto représentant les posts triés, avec leur nombre de commentaires
+     */
+    @GetMapping("/post")
+    public List<PostDto> getAllPost(
+            PostDto postDto,
+            @RequestParam(defaultValue = "date") String sortBy,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean latestComment,
+            ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(request, postService.getFeedWatermark())) {
+            return null;
+        }
+        return postService.getAllPost(postDto, sortBy, order, size, latestComment);
+    }
+
+    /**
+     * Récupère une page du fil de tous les posts, du plus récent au plus ancien.
+     *
+     * @param cursor le jeton de continuation renvoyé par la page précédente (absent pour la première page)
+     * @param size le nombre de posts par page (par défaut 20, au plus 100)
+     * @param latestComment true pour joindre à chaque post son dernier commentaire (par défaut false)
+     * @param request la requête, pour répondre 304 si le fil n'a pas changé depuis l'ETag fourni
+     * @return une PageDto contenant les posts, avec leur nombre de commentaires, et le jeton de la page suivante
+     */
+    @GetMapping("/post/feed")
+    public PageDto<PostDto> getPostFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean latestComment,
+            ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(request, postService.getFeedWatermark())) {
+            return null;
+        }
+        return postService.getPostFeed(cursor, size, latestComment);
+    }
+
+    /**
+     * Crée un nouveau post.
+     *
+     * @param postDto l'objet de transfert de données contenant les informations du post à créer
+     * @return une ResponseEntity contenant l'objet PostDto du post créé
+     */
+    @PostMapping("/post")
+    public ResponseEntity<PostDto> createPost(@RequestBody PostDto postDto) {
+        PostDto createdPost = postService.createPost(postDto);
+        return ResponseEntity.created(URI.create("/post/" + createdPost.getId())).body(createdPost);
+    }
+
+    /**
+     * Importe des posts en masse depuis un corps NDJSON (un post JSON par ligne), lu en flux.
+     * Les lignes invalides sont rejetées une à une sans interrompre l'import.
+     * Réservé aux comptes d'import (mddapi.post-import.importer-ids), les autres reçoivent un 403.
+     *
+     * @param body le corps de la requête
+     * @return le bilan de l'import : posts importés, lignes rejetées et motif des premiers rejets
+     */
+    @PostMapping(value = "/post/import", consumes = "application/x-ndjson")
+    public PostImportReportDto importPosts(InputStream body) {
+        return postImportService.importPosts(body);
+    }
+
+    /**
+     * Récupère un post par son identifiant.
+     *
+     * @param id l'identifiant du post à récupérer
+     * @param request la requête, pour répondre 304 si le post n'a pas changé depuis l'ETag fourni
+     * @return une ResponseEntity contenant l'objet PostDto représentant le post récupéré
+     */
+    @GetMapping("/post/{id}")
+    public ResponseEntity<PostDto> getPostById(@PathVariable Long id, ServletWebRequest request) {
+        Optional<Watermark> watermark = postService.getPostWatermark(id);
+        if (watermark.isPresent() && ConditionalRequests.isNotModified(request, watermark.get())) {
+            return null;
+        }
+        PostDto postDto = postService.getPostById(id);
+        return ResponseEntity.ok(postDto);
+    }
+
+    /**
+     * Récupère une page des posts des thèmes auxquels un utilisateur est abonné, triés et filtrés par le serveur.
+     *
+     * @param userId l'identifiant de l'utilisateur pour lequel récupérer les posts
+     * @param order l'ordre de tri par date, "asc" ou "desc" (par défaut "desc")
+     * @param subjectId l'identifiant du thème à afficher (par défaut, tous les thèmes abonnés)
+     * @param from la première journée incluse, au format yyyy-MM-dd (facultatif)
+     * @param to la dernière journée incluse, au format yyyy-MM-dd (facultatif)
+     * @param cursor le jeton de continuation renvoyé par la page précédente (absent pour la première page)
+     * @param size le nombre de posts par page (par défaut 20, au plus 100)
+     * @param latestComment true pour joindre à chaque post son dernier commentaire (par défaut false)
+     * @param request la requête, pour répondre 304 si le fil n'a pas changé depuis l'ETag fourni
+     * @return une PageDto contenant les posts du fil de l'utilisateur, avec leur nombre de commentaires,
+     * et le jeton de la page suivante
+     */
+    @GetMapping("/post/user/{userId}")
+    public PageDto<FeedPostDto> getPostsForUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean latestComment,
+            ServletWebRequest request) {
+        Optional<Watermark> watermark = postService.getFeedWatermark(userId);
+        if (watermark.isPresent() && ConditionalRequests.isNotModified(request, watermark.get())) {
+            return null;
+        }
+        return postService.getPostsForUser(userId, FeedFilter.of(order, subjectId, from, to), cursor, size,
+                latestComment);
+    }
+}
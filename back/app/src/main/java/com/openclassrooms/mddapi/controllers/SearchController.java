@@ -0,0 +1,37 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.SearchHitDto;
+import com.openclassrooms.mddapi.services.ISearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Contrôleur de la recherche plein texte sur les posts et les commentaires.
+ */
+@RestController
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final ISearchService searchService;
+
+    /**
+     * Recherche les posts et commentaires contenant tous les termes demandés, du plus au moins pertinent.
+     *
+     * @param q le texte recherché ("phrase exacte", -exclusion et préfixe* acceptés)
+     * @param subjectId l'identifiant du thème auquel restreindre la recherche (optionnel)
+     * @param cursor le jeton de continuation renvoyé par la page précédente (absent pour la première page)
+     * @param size le nombre de résultats par page (par défaut 20, au plus 100)
+     * @return une PageDto contenant les résultats et le jeton de la page suivante
+     */
+    @GetMapping("/search")
+    public PageDto<SearchHitDto> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return searchService.search(q, subjectId, cursor, size);
+    }
+}
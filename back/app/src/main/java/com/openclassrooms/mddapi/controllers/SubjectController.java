@@ -1,11 +1,11 @@
 package com.openclassrooms.mddapi.controllers;
 
 import com.openclassrooms.mddapi.model.dtos.SubjectDto;
-import com.openclassrooms.mddapi.model.entities.Subject;
 import com.openclassrooms.mddapi.services.ISubjectService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -24,11 +24,15 @@ public class SubjectController {
      * Récupère tous les thèmes correspondant aux critères spécifiés.
      *
      * @param subjectDto l'objet de transfert de données contenant les critères de récupération des thèmes
-     * @return une Map contenant une liste de Subject représentant tous les thèmes trouvés
+     * @param request la requête, pour répondre 304 si les thèmes n'ont pas changé depuis l'ETag fourni
+     * @return une Map contenant une liste de SubjectDto représentant tous les thèmes trouvés
      */
     @GetMapping("/subject")
-    public ResponseEntity<Map<String, List<Subject>>> getSubject(SubjectDto subjectDto) {
-        List<Subject> subjects = subjectService.getSubject(subjectDto);
+    public ResponseEntity<Map<String, List<SubjectDto>>> getSubject(SubjectDto subjectDto, ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(request, subjectService.getSubjectsWatermark())) {
+            return null;
+        }
+        List<SubjectDto> subjects = subjectService.getSubject(subjectDto);
         return ResponseEntity.ok(Map.of("subject", subjects));
     }
 
@@ -39,8 +43,8 @@ public class SubjectController {
      * @return une ResponseEntity contenant la liste des thèmes associés à l'utilisateur
      */
     @GetMapping("/subjects/user/{userId}")
-    public ResponseEntity<List<Subject>> getSubjectsForUser(@PathVariable Long userId) {
-        List<Subject> subjects = subjectService.getSubjectsForUser(userId);
+    public ResponseEntity<List<SubjectDto>> getSubjectsForUser(@PathVariable Long userId) {
+        List<SubjectDto> subjects = subjectService.getSubjectsForUser(userId);
         return ResponseEntity.ok(subjects);
     }
 }
@@ -1,10 +1,13 @@
 package com.openclassrooms.mddapi.controllers;
 
+import com.openclassrooms.mddapi.model.dtos.SubjectIdsDto;
 import com.openclassrooms.mddapi.services.ISubscriptionService;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
 /**
  * Contrôleur gérant les opérations d'abonnement des utilisateurs aux thèmes.
  * Fournit des points de terminaison pour s'abonner et se désabonner des sujthèmesets.
@@ -39,4 +42,30 @@ public class SubscriptionController {
         subscriptionService.unsubscribeUserFromSubject(userId, subjectId);
         return ResponseEntity.ok().body("{\"message\": \"User successfully unsubscribed from subject.\"}");
     }
+
+    /**
+     * Abonne un utilisateur à plusieurs thèmes en une seule requête ; les abonnements existants sont conservés.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param subjects les identifiants des thèmes
+     * @return une ResponseEntity avec un message indiquant le succès des abonnements
+     */
+    @PostMapping("/subscriptions/{userId}")
+    public ResponseEntity<?> subscribeAll(@PathVariable Long userId, @RequestBody SubjectIdsDto subjects) {
+        subscriptionService.subscribeUserToSubjects(userId, subjects.subjectIds());
+        return ResponseEntity.ok().body("{\"message\": \"User successfully subscribed to subjects.\"}");
+    }
+
+    /**
+     * Désabonne un utilisateur de plusieurs thèmes en une seule requête.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param subjectIds les identifiants des thèmes
+     * @return une ResponseEntity avec un message indiquant le succès des désabonnements
+     */
+    @DeleteMapping("/subscriptions/{userId}")
+    public ResponseEntity<?> unsubscribeAll(@PathVariable Long userId, @RequestParam Set<Long> subjectIds) {
+        subscriptionService.unsubscribeUserFromSubjects(userId, subjectIds);
+        return ResponseEntity.ok().body("{\"message\": \"User successfully unsubscribed from subjects.\"}");
+    }
 }
@@ -1,6 +1,9 @@
     package com.openclassrooms.mddapi.controllers;
 
+    import com.openclassrooms.mddapi.model.dtos.PasswordChangeDto;
+    import com.openclassrooms.mddapi.model.dtos.UpdateUserDto;
     import com.openclassrooms.mddapi.model.dtos.UserDto;
+    import com.openclassrooms.mddapi.model.dtos.UserSummaryDto;
     import com.openclassrooms.mddapi.services.IUserService;
     import jakarta.persistence.EntityNotFoundException;
     import jakarta.validation.Valid;
@@ -12,6 +15,8 @@
     import org.springframework.http.ResponseEntity;
     import org.springframework.web.bind.annotation.*;
 
+    import java.util.List;
+
     /**
      * Contrôleur gérant les opérations sur les utilisateurs.
      * Fournit des points de terminaison pour récupérer et mettre à jour les utilisateurs.
@@ -43,18 +48,43 @@
             }
         }
         /**
-         * Met à jour les informations d'un utilisateur.
+         * Récupère le résumé (identifiant et nom) de plusieurs utilisateurs en une seule requête.
+         *
+         * @param ids les identifiants des utilisateurs, séparés par des virgules
+         * @return une ResponseEntity contenant la liste des UserSummaryDto trouvés
+         */
+        @GetMapping("/user/summaries")
+        public ResponseEntity<List<UserSummaryDto>> getUserSummaries(@RequestParam("ids") List<Long> ids){
+            return ResponseEntity.ok(userService.getUserSummaries(ids));
+        }
+
+        /**
+         * Met à jour partiellement le profil d'un utilisateur (nom d'utilisateur et/ou email).
+         * PUT est conservé pour les clients existants et se comporte comme PATCH ; le mot de passe éventuellement envoyé est ignoré.
          *
          * @param id l'identifiant de l'utilisateur à mettre à jour
-         * @param userDto l'objet de transfert de données contenant les informations mises à jour de l'utilisateur
+         * @param updateUserDto l'objet de transfert de données contenant les champs à modifier
          * @return une ResponseEntity contenant l'objet UserDto de l'utilisateur mis à jour
          */
-        @PutMapping("/user/{id}")
-        public ResponseEntity<?> updateUser(@PathVariable("id") String id, @Valid @RequestBody UserDto userDto){
-            UserDto updatedUserEntity = userService.updateUser(Long.valueOf(id), userDto);
+        @RequestMapping(value = "/user/{id}", method = {RequestMethod.PATCH, RequestMethod.PUT})
+        public ResponseEntity<?> updateUser(@PathVariable("id") String id, @Valid @RequestBody UpdateUserDto updateUserDto){
+            UserDto updatedUserEntity = userService.updateUser(Long.valueOf(id), updateUserDto);
             return ResponseEntity.ok(updatedUserEntity);
         }
 
+        /**
+         * Change le mot de passe d'un utilisateur.
+         *
+         * @param id l'identifiant de l'utilisateur
+         * @param passwordChangeDto le mot de passe actuel et le nouveau mot de passe
+         * @return une réponse 204 si le mot de passe a été modifié
+         */
+        @PutMapping("/user/{id}/password")
+        public ResponseEntity<Void> changePassword(@PathVariable("id") Long id, @RequestBody PasswordChangeDto passwordChangeDto){
+            userService.changePassword(id, passwordChangeDto);
+            return ResponseEntity.noContent().build();
+        }
+
         @GetMapping("/user/currentUser")
         public ResponseEntity<UserDto> getCurrentUser() {
             UserDto currentUser = userService.getCurrentUser();
@@ -2,6 +2,7 @@ package com.openclassrooms.mddapi.mapper;
 
 import com.openclassrooms.mddapi.model.dtos.PostDto;
 import com.openclassrooms.mddapi.model.entities.PostEntity;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -35,6 +36,8 @@ public class PostMapper implements EntityMapper<PostDto, PostEntity> {
                 .date(entity.getDate())
                 .description(entity.getDescription())
                 .userId(Math.toIntExact(entity.getUser() != null ? entity.getUser().getId() : null))
+                .userName(entity.getUser() != null && Hibernate.isInitialized(entity.getUser())
+                        ? entity.getUser().getUserName() : null)
                 .themeId(entity.getTheme() != null ? entity.getTheme().getId() : null)
                 .build();
     }
@@ -5,6 +5,7 @@ import com.openclassrooms.mddapi.model.dtos.SubjectDto;
 import com.openclassrooms.mddapi.model.dtos.UserDto;
 import com.openclassrooms.mddapi.model.entities.UserEntity;
 import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.repositories.UserRepository;
 import org.mapstruct.Mapping;
 import org.springframework.stereotype.Component;
 
@@ -24,7 +25,6 @@ public class UserMapper implements EntityMapper<UserDto, UserEntity> {
                 .id(dto.getId())
                 .userName(dto.getUserName())
                 .email(dto.getEmail())
-                .password(dto.getPassword())
                 .build();
     }
 
@@ -38,7 +38,18 @@ public class UserMapper implements EntityMapper<UserDto, UserEntity> {
                 .id(entity.getId())
                 .userName(entity.getUserName())
                 .email(entity.getEmail())
-                .password(entity.getPassword())
+                .build();
+    }
+
+    public UserDto toDto(UserRepository.Credentials credentials) {
+        if (credentials == null) {
+            return null;
+        }
+
+        return UserDto.builder()
+                .id(credentials.getId())
+                .userName(credentials.getUserName())
+                .email(credentials.getEmail())
                 .build();
     }
 
@@ -55,7 +66,6 @@ public class UserMapper implements EntityMapper<UserDto, UserEntity> {
                 .id(entity.getId())
                 .userName(entity.getUserName())
                 .email(entity.getEmail())
-                .password(entity.getPassword())
                 .subscription(subjectDtos)
                 .build();
     }
@@ -0,0 +1,59 @@
+package com.openclassrooms.mddapi.model;
+
+import com.openclassrooms.mddapi.AppException;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Curseur de pagination par clé (keyset) sur le couple (date, id).
+ * Sérialisé en jeton opaque Base64 URL-safe pour être renvoyé tel quel par le client.
+ */
+@Getter
+public class FeedCursor {
+    private static final char SEPARATOR = ':';
+
+    private final Timestamp date;
+    private final Long id;
+
+    public FeedCursor(Date date, Long id) {
+        this.date = new Timestamp(date.getTime());
+        this.id = id;
+    }
+
+    /**
+     * Encode le curseur en jeton opaque.
+     *
+     * @return le jeton de continuation
+     */
+    public String encode() {
+        String raw = date.getTime() + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Décode un jeton de continuation.
+     *
+     * @param token le jeton reçu du client, éventuellement null
+     * @return le curseur correspondant, ou null si aucun jeton n'est fourni
+     * @throws AppException si le jeton est mal formé
+     */
+    public static FeedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(SEPARATOR);
+            long millis = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new FeedCursor(new Date(millis), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new AppException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.openclassrooms.mddapi.model;
+
+import com.openclassrooms.mddapi.AppException;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Critères de tri et de filtrage d'un fil d'actualité, exécutés en SQL.
+ * Les bornes de dates sont inclusives : to couvre toute la journée indiquée.
+ */
+@Getter
+public class FeedFilter {
+    private final boolean ascending;
+    private final Long subjectId;
+    private final Timestamp from;
+    private final Timestamp to;
+
+    private FeedFilter(boolean ascending, Long subjectId, Timestamp from, Timestamp to) {
+        this.ascending = ascending;
+        this.subjectId = subjectId;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Valide et construit les critères du fil.
+     *
+     * @param order l'ordre de tri par date, "asc" ou "desc" (null pour "desc")
+     * @param subjectId l'identifiant du thème à conserver, ou null pour tous les thèmes abonnés
+     * @param from la première journée incluse, ou null
+     * @param to la dernière journée incluse, ou null
+     * @return les critères du fil
+     * @throws AppException si l'ordre est inconnu ou si from est postérieure à to
+     */
+    public static FeedFilter of(String order, Long subjectId, LocalDate from, LocalDate to) {
+        boolean ascending;
+        if (order == null || order.equalsIgnoreCase("desc")) {
+            ascending = false;
+        } else if (order.equalsIgnoreCase("asc")) {
+            ascending = true;
+        } else {
+            throw new AppException("Invalid order value: " + order, HttpStatus.BAD_REQUEST);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new AppException("from must not be after to", HttpStatus.BAD_REQUEST);
+        }
+        return new FeedFilter(ascending, subjectId,
+                from != null ? Timestamp.valueOf(from.atStartOfDay()) : null,
+                to != null ? Timestamp.valueOf(to.plusDays(1).atStartOfDay()) : null);
+    }
+
+    /**
+     * Indique si les critères correspondent au fil par défaut (du plus récent au plus ancien, sans filtre).
+     *
+     * @return true si aucun filtre n'est appliqué et que l'ordre est décroissant
+     */
+    public boolean isDefault() {
+        return !ascending && subjectId == null && from == null && to == null;
+    }
+}
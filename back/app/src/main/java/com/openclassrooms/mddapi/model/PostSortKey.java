@@ -0,0 +1,54 @@
+package com.openclassrooms.mddapi.model;
+
+import com.openclassrooms.mddapi.AppException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Clés de tri autorisées pour la liste des posts.
+ * Chaque clé est couverte par un index composite terminé par l'identifiant, qui sert aussi de départage :
+ * le tri se fait par parcours d'index plutôt que par un tri complet de la table.
+ */
+public enum PostSortKey {
+    /** Index idx_post_date_id (Date, ID). */
+    DATE("date"),
+    /** Index idx_post_title_id (TITLE, ID). */
+    TITLE("title"),
+    /** Clé primaire. */
+    ID("id");
+
+    private final String property;
+
+    PostSortKey(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Construit le tri sur la propriété indexée, départagé par l'identifiant dans le même sens.
+     *
+     * @param direction le sens du tri
+     * @return le tri à appliquer à la requête
+     */
+    public Sort toSort(Sort.Direction direction) {
+        return this == ID ? Sort.by(direction, property) : Sort.by(direction, property, ID.property);
+    }
+
+    /**
+     * Retrouve une clé de tri à partir du paramètre de requête, sans tenir compte de la casse.
+     *
+     * @param value le nom de la clé demandée
+     * @return la clé de tri correspondante
+     * @throws AppException si la clé n'est pas autorisée
+     */
+    public static PostSortKey from(String value) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new AppException("Invalid sortBy value: " + value + ", expected one of "
+                        + Arrays.stream(values()).map(key -> key.property).collect(Collectors.joining(", ")),
+                        HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,38 @@
+package com.openclassrooms.mddapi.model;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Validateurs HTTP d'une ressource, calculés à partir de compteurs de versions lus en base.
+ * Les compteurs ne font que croître : toute modification de la ressource change l'ETag.
+ *
+ * @param etag l'ETag fort, sans guillemets
+ * @param lastModified la date de dernière modification en millisecondes, ou -1 si elle est inconnue
+ */
+public record Watermark(String etag, long lastModified) {
+
+    /**
+     * Construit l'ETag d'une ressource, sans date de modification.
+     *
+     * @param kind le préfixe de l'ETag, propre au type de ressource
+     * @param versions les compteurs de versions des éléments de la ressource
+     * @return les validateurs de la ressource
+     */
+    public static Watermark of(String kind, long... versions) {
+        return new Watermark(kind + Arrays.stream(versions).mapToObj(Long::toString)
+                .collect(Collectors.joining("-", "-", "")), -1);
+    }
+
+    /**
+     * Date les validateurs de la plus récente des dates de modification des éléments de la ressource.
+     *
+     * @param dates les dates de modification, éventuellement null
+     * @return les validateurs datés, ou sans date si toutes les dates sont null
+     */
+    public Watermark modifiedAt(Date... dates) {
+        return new Watermark(etag, Arrays.stream(dates).filter(Objects::nonNull).mapToLong(Date::getTime).max().orElse(-1));
+    }
+}
@@ -0,0 +1,48 @@
+package com.openclassrooms.mddapi.model.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Projection à plat d'un post du fil d'actualité d'un utilisateur.
+ * Construite directement par la requête JPQL : aucune entité n'est chargée.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FeedPostDto {
+
+    public static final int SNIPPET_LENGTH = 200;
+
+    private Long id;
+    private String title;
+    private String description;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy/MM/dd")
+    private Timestamp date;
+    private Long userId;
+    private String userName;
+    private Long themeId;
+    private String themeTitle;
+    private Long commentCount;
+    private CommentDto latestComment;
+
+    public FeedPostDto(Long id, String title, String description, Timestamp date,
+                       Long userId, String userName, Long themeId, String themeTitle) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.date = date;
+        this.userId = userId;
+        this.userName = userName;
+        this.themeId = themeId;
+        this.themeTitle = themeTitle;
+    }
+}
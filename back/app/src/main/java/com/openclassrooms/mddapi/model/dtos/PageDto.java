@@ -0,0 +1,64 @@
+package com.openclassrooms.mddapi.model.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.openclassrooms.mddapi.model.FeedCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page de résultats paginée par curseur.
+ * nextCursor est absent lorsqu'il n'y a plus de résultats.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageDto<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+
+    /**
+     * Borne la taille de page demandée par le client.
+     *
+     * @param size la taille demandée, éventuellement null
+     * @return DEFAULT_PAGE_SIZE si aucune taille valide n'est demandée, sinon la taille bornée par MAX_PAGE_SIZE
+     */
+    public static int boundedSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Construit une page à partir de pageSize + 1 lignes lues : la ligne en trop indique qu'une page suit.
+     *
+     * @param rows les lignes lues, au plus pageSize + 1
+     * @param pageSize la taille de la page
+     * @param cursorOf la fonction donnant le curseur d'une ligne
+     * @return la page, avec le jeton de la page suivante s'il y en a une
+     */
+    public static <T> PageDto<T> of(List<T> rows, int pageSize, Function<T, FeedCursor> cursorOf) {
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = cursorOf.apply(rows.get(pageSize - 1)).encode();
+        }
+        return PageDto.<T>builder()
+                .content(rows)
+                .size(rows.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
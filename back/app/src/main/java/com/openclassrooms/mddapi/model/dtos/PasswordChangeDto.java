@@ -0,0 +1,7 @@
+package com.openclassrooms.mddapi.model.dtos;
+
+/**
+ * Demande de changement de mot de passe : le mot de passe actuel est vérifié avant l'enregistrement du nouveau.
+ */
+public record PasswordChangeDto(String currentPassword, String newPassword) {
+}
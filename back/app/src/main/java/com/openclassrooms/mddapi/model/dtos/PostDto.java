@@ -23,10 +23,13 @@ public class PostDto {
     private String description;
     private Long themeId;
     private Integer userId;
+    private String userName;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy/MM/dd")
     private Timestamp date;
     private Timestamp createdAt;
     private Timestamp updatedAt;
+    private Long commentCount;
+    private CommentDto latestComment;
 
     public static PostDto convertToDto(PostEntity postEntity) {
         if (postEntity == null) {
@@ -38,6 +41,7 @@ public class PostDto {
                 .date(postEntity.getDate())
                 .description(postEntity.getDescription())
                 .userId(Math.toIntExact(postEntity.getUser() != null ? postEntity.getUser().getId() : null))
+                .userName(postEntity.getUser() != null ? postEntity.getUser().getUserName() : null)
                 .themeId(postEntity.getTheme() != null ? postEntity.getTheme().getId() : null)
                 .build();
     }
@@ -0,0 +1,16 @@
+package com.openclassrooms.mddapi.model.dtos;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import NDJSON de posts : nombre de lignes importées et rejetées,
+ * et le détail des premières lignes rejetées.
+ */
+public record PostImportReportDto(long imported, long rejected, List<LineError> errors) {
+
+    /**
+     * Ligne rejetée, numérotée à partir de 1 dans le corps de la requête.
+     */
+    public record LineError(long line, String message) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.openclassrooms.mddapi.model.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat de recherche : un post, ou un commentaire rattaché à son post.
+ * commentId est absent pour un post ; excerpt reprend le début du texte trouvé.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchHitDto {
+
+    public static final String POST = "post";
+    public static final String COMMENT = "comment";
+
+    private String type;
+    private Long postId;
+    private Long commentId;
+    private Long subjectId;
+    private String title;
+    private String excerpt;
+    private float score;
+}
@@ -0,0 +1,9 @@
+package com.openclassrooms.mddapi.model.dtos;
+
+import java.util.Set;
+
+/**
+ * Ensemble de thèmes visés par un abonnement ou un désabonnement groupé.
+ */
+public record SubjectIdsDto(Set<Long> subjectIds) {
+}
@@ -0,0 +1,8 @@
+package com.openclassrooms.mddapi.model.dtos;
+
+/**
+ * Modification partielle du profil : seuls les champs non nuls sont appliqués.
+ * Le mot de passe se modifie séparément via {@link PasswordChangeDto}.
+ */
+public record UpdateUserDto(String userName, String email) {
+}
@@ -23,7 +23,6 @@ import java.util.stream.Collectors;
         private String userName;
         private String email;
         private String token;
-        private String password;
         private List<SubjectDto> subscription;
 
         public static UserDto convertToDto (UserEntity userEntity, List<Subject> subjects){
@@ -31,7 +30,6 @@ import java.util.stream.Collectors;
             userDto.setId(userEntity.getId());
             userDto.setUserName(userEntity.getUserName());
             userDto.setEmail(userEntity.getEmail());
-            userDto.setPassword(userEntity.getPassword());
             userDto.setToken(userEntity.getToken());
 
             userDto.setSubscription(subjects.stream()
@@ -0,0 +1,7 @@
+package com.openclassrooms.mddapi.model.dtos;
+
+/**
+ * Résumé public d'un utilisateur, utilisé pour afficher les auteurs des posts et des commentaires.
+ */
+public record UserSummaryDto(Long id, String userName) {
+}
@@ -20,8 +20,15 @@
     @Data
     @Table(name = "post")
     public class PostEntity {
+        public static final int ID_ALLOCATION_SIZE = 50;
+
+        /**
+         * Identifiant alloué par blocs de {@link #ID_ALLOCATION_SIZE} (voir la migration V4) :
+         * connu avant l'insertion, il permet à Hibernate de regrouper les INSERT en lots JDBC.
+         */
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+        @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = PostEntity.ID_ALLOCATION_SIZE)
         @Column(name = "ID")
         private Long id;
 
@@ -32,6 +39,17 @@
         @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy/MM/dd")
         private Timestamp date;
 
+        /**
+         * Date courante à la précision de la colonne date (timestamp MySQL à la seconde, voir V1) :
+         * la date gardée en mémoire, dans le fil matérialisé et les curseurs, est celle relue en base.
+         *
+         * @return l'instant courant tronqué à la seconde
+         */
+        public static Timestamp currentDate() {
+            long now = System.currentTimeMillis();
+            return new Timestamp(now - Math.floorMod(now, 1000L));
+        }
+
         @Column(name = "DESCRIPTION", columnDefinition = "TEXT")
         private String description;
 
@@ -50,4 +68,21 @@
         @JsonIgnore
         private List<CommentEntity> comments;
 
+        /**
+         * Version du contenu propre du post, reprise dans son ETag (voir la migration V5).
+         */
+        @Version
+        @Column(name = "version", nullable = false)
+        @JsonIgnore
+        private Long version;
+
+        @Column(name = "updated_at", nullable = false)
+        @JsonIgnore
+        private Timestamp updatedAt;
+
+        @PrePersist
+        @PreUpdate
+        void touch() {
+            updatedAt = new Timestamp(System.currentTimeMillis());
+        }
     }
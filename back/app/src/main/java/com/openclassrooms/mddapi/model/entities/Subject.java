@@ -0,0 +1,81 @@
+    package com.openclassrooms.mddapi.model.entities;
+
+    import com.fasterxml.jackson.annotation.JsonBackReference;
+    import com.fasterxml.jackson.annotation.JsonIgnore;
+    import jakarta.persistence.*;
+    import lombok.AllArgsConstructor;
+    import lombok.Builder;
+    import lombok.Data;
+    import lombok.EqualsAndHashCode;
+    import lombok.NoArgsConstructor;
+    import lombok.ToString;
+
+    import java.sql.Timestamp;
+    import java.util.Date;
+    import java.util.List;
+    import java.util.Set;
+
+    @Entity
+    @Table(name = "SUBJECT")
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public class Subject {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "ID")
+        private Long id;
+
+        @Column(name = "title_subject")
+        private String title;
+
+        @Column(name = "description")
+        private String description;
+
+        @Temporal(TemporalType.DATE)
+        private Date date;
+
+        @ManyToMany(mappedBy = "subjects")
+        @JsonIgnore
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private Set<UserEntity> users;
+
+        @OneToMany(mappedBy = "theme")
+        @JsonIgnore
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private List<PostEntity> posts;
+
+        /**
+         * Version du thème lui-même (titre, description), reprise dans l'ETag de la liste des thèmes.
+         */
+        @Version
+        @Column(name = "version", nullable = false)
+        @JsonIgnore
+        private Long version;
+
+        @Column(name = "updated_at", nullable = false)
+        @JsonIgnore
+        private Timestamp updatedAt;
+
+        /**
+         * Filigrane des fils : incrémenté par une mise à jour groupée à chaque post ou commentaire publié dans le thème,
+         * jamais écrit par Hibernate pour ne pas écraser un incrément concurrent.
+         */
+        @Column(name = "feed_version", nullable = false, updatable = false)
+        @JsonIgnore
+        private long feedVersion;
+
+        @Column(name = "feed_updated_at", updatable = false)
+        @JsonIgnore
+        private Timestamp feedUpdatedAt;
+
+        @PrePersist
+        @PreUpdate
+        void touch() {
+            updatedAt = new Timestamp(System.currentTimeMillis());
+        }
+    }
@@ -17,13 +17,13 @@ import lombok.NoArgsConstructor;
 @IdClass(SubscriptionId.class)
 public class Subscription {
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonIgnore
     private UserEntity user;
 
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "theme_id")
     @JsonIgnore
     private Subject subject;
@@ -0,0 +1,85 @@
+package com.openclassrooms.mddapi.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Data
+@Table(name = "user", uniqueConstraints = @UniqueConstraint(name = UserEntity.EMAIL_NORMALIZED_UNIQUE, columnNames = "email_normalized"))
+@NamedEntityGraph(name = UserEntity.WITH_SUBJECTS, attributeNodes = @NamedAttributeNode("subjects"))
+public class UserEntity {
+    public static final String WITH_SUBJECTS = "UserEntity.subjects";
+    public static final String EMAIL_NORMALIZED_UNIQUE = "uk_user_email_normalized";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "USERNAME")
+    private String userName;
+
+    @Column(name = "EMAIL")
+    private String email;
+
+    @Column(name = "email_normalized", nullable = false)
+    private String emailNormalized;
+
+    @Transient
+    private String token;
+
+    @Column(name = "PASSWORD")
+    private String password;
+
+    @ManyToMany
+    @JoinTable(
+            name = "subscription",
+            joinColumns = @JoinColumn(name = "user_id"),
+            inverseJoinColumns = @JoinColumn(name = "theme_id")
+    )
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<Subject> subjects = new HashSet<>();  //  HashSet pour éviter les doublons et initialiser la collection
+
+    /**
+     * Filigrane du fil de l'utilisateur : incrémenté par une mise à jour groupée à chaque changement d'abonnements,
+     * jamais écrit par Hibernate pour ne pas écraser un incrément concurrent.
+     */
+    @Column(name = "feed_version", nullable = false, updatable = false)
+    private long feedVersion;
+
+    @Column(name = "feed_updated_at", updatable = false)
+    private Timestamp feedUpdatedAt;
+
+    /**
+     * Recalcule la colonne de recherche par email, couverte par l'index unique uk_user_email_normalized.
+     */
+    @PrePersist
+    @PreUpdate
+    void normalizeEmail() {
+        emailNormalized = normalizeEmail(email);
+    }
+
+    /**
+     * Forme canonique d'une adresse email, utilisée pour l'unicité et la recherche à la connexion.
+     *
+     * @param email l'adresse saisie
+     * @return l'adresse sans espaces autour et en minuscules, ou null
+     */
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.openclassrooms.mddapi.repositories;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.entities.CommentEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
+   String COMMENT_SELECT = "SELECT new com.openclassrooms.mddapi.model.dtos.CommentDto(" +
+           "c.id, c.description, c.date, u.id, c.post.id, u.userName) " +
+           "FROM CommentEntity c JOIN c.user u ";
+
+   @Query(COMMENT_SELECT + "WHERE c.post.id = :postId ORDER BY c.date ASC, c.id ASC")
+   List<CommentDto> findPageByPostId(@Param("postId") Long postId, Pageable pageable);
+
+   @Query(COMMENT_SELECT + "WHERE c.post.id = :postId " +
+           "AND (c.date > :date OR (c.date = :date AND c.id > :id)) " +
+           "ORDER BY c.date ASC, c.id ASC")
+   List<CommentDto> findPageByPostIdAfter(@Param("postId") Long postId, @Param("date") Date date,
+                                          @Param("id") Long id, Pageable pageable);
+
+   @Query("SELECT c.post.id AS postId, COUNT(c) AS commentCount FROM CommentEntity c " +
+           "WHERE c.post.id IN :postIds GROUP BY c.post.id")
+   List<CommentCount> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+   @Query(COMMENT_SELECT +
+           "WHERE c.id IN (SELECT MAX(l.id) FROM CommentEntity l WHERE l.post.id IN :postIds GROUP BY l.post.id)")
+   List<CommentDto> findLatestByPostIds(@Param("postIds") Collection<Long> postIds);
+
+   @Query("SELECT c.id AS id, c.description AS description, p.id AS postId, p.title AS postTitle, " +
+           "p.theme.id AS themeId FROM CommentEntity c JOIN c.post p WHERE c.id > :afterId ORDER BY c.id")
+   List<SearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+   /**
+    * Filigrane des commentaires d'un post, lu sur l'index (post_id, date) : les commentaires ne sont ni modifiés
+    * ni supprimés, leur nombre et le plus grand identifiant suffisent à détecter un ajout. La date d'un commentaire
+    * n'a que la précision du jour et ne peut pas servir de Last-Modified. La version du post, avancée quand un
+    * auteur change de nom, invalide les pages qui affichent ce nom.
+    */
+   @Query("SELECT COUNT(c) AS commentCount, MAX(c.id) AS lastId, " +
+           "(SELECT p.version FROM PostEntity p WHERE p.id = :postId) AS postVersion " +
+           "FROM CommentEntity c WHERE c.post.id = :postId")
+   CommentsWatermark findWatermarkByPostId(@Param("postId") Long postId);
+
+   /**
+    * Nombre de commentaires d'un post.
+    */
+   interface CommentCount {
+      Long getPostId();
+
+      Long getCommentCount();
+   }
+
+   /**
+    * Colonnes d'un commentaire indexées par la recherche plein texte, avec le titre et le thème de son post.
+    */
+   interface SearchDocument {
+      Long getId();
+
+      String getDescription();
+
+      Long getPostId();
+
+      String getPostTitle();
+
+      Long getThemeId();
+   }
+
+   /**
+    * Nombre, dernier identifiant et dernière date des commentaires d'un post.
+    */
+   interface CommentsWatermark {
+      Long getCommentCount();
+
+      Long getLastId();
+
+      Long getPostVersion();
+   }
+}
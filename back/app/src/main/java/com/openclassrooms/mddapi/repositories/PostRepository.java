@@ -0,0 +1,127 @@
+package com.openclassrooms.mddapi.repositories;
+
+import com.openclassrooms.mddapi.model.dtos.FeedPostDto;
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+
+@Repository
+public interface PostRepository extends JpaRepository<PostEntity, Long> {
+    String FEED_POST_SELECT = "SELECT new com.openclassrooms.mddapi.model.dtos.FeedPostDto(" +
+            "p.id, p.title, SUBSTRING(p.description, 1, " + FeedPostDto.SNIPPET_LENGTH + "), p.date, " +
+            "u.id, u.userName, t.id, t.title) ";
+    String SUBSCRIBED_POSTS = "FROM Subscription s JOIN s.subject t JOIN PostEntity p ON p.theme = t JOIN p.user u " +
+            "WHERE s.user.id = :userId ";
+    String SUBSCRIBED_FILTERS = "AND (:themeId IS NULL OR t.id = :themeId) " +
+            "AND (:from IS NULL OR p.date >= :from) AND (:to IS NULL OR p.date < :to) ";
+
+    PostEntity save(PostEntity postEntity);
+
+    @EntityGraph(attributePaths = {"user", "theme"})
+    Optional<PostEntity> findById(Long postId);
+
+    @EntityGraph(attributePaths = {"user", "theme"})
+    List<PostEntity> findAllBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "theme"})
+    @Query("SELECT p FROM PostEntity p ORDER BY p.date DESC, p.id DESC")
+    List<PostEntity> findFeed(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "theme"})
+    @Query("SELECT p FROM PostEntity p " +
+            "WHERE p.date < :date OR (p.date = :date AND p.id < :id) " +
+            "ORDER BY p.date DESC, p.id DESC")
+    List<PostEntity> findFeedBefore(@Param("date") Timestamp date, @Param("id") Long id, Pageable pageable);
+
+    @Query(FEED_POST_SELECT + SUBSCRIBED_POSTS + SUBSCRIBED_FILTERS +
+            "AND (:date IS NULL OR p.date < :date OR (p.date = :date AND p.id < :id)) " +
+            "ORDER BY p.date DESC, p.id DESC")
+    List<FeedPostDto> findSubscribedFeedDesc(@Param("userId") Long userId, @Param("themeId") Long themeId,
+                                             @Param("from") Timestamp from, @Param("to") Timestamp to,
+                                             @Param("date") Timestamp date, @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query(FEED_POST_SELECT + SUBSCRIBED_POSTS + SUBSCRIBED_FILTERS +
+            "AND (:date IS NULL OR p.date > :date OR (p.date = :date AND p.id > :id)) " +
+            "ORDER BY p.date ASC, p.id ASC")
+    List<FeedPostDto> findSubscribedFeedAsc(@Param("userId") Long userId, @Param("themeId") Long themeId,
+                                            @Param("from") Timestamp from, @Param("to") Timestamp to,
+                                            @Param("date") Timestamp date, @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query(FEED_POST_SELECT + "FROM PostEntity p JOIN p.user u JOIN p.theme t WHERE p.id IN :ids")
+    List<FeedPostDto> findFeedPostsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, t.id AS themeId, p.date AS date " +
+            "FROM Subscription s JOIN s.subject t JOIN PostEntity p ON p.theme = t " +
+            "WHERE s.user.id = :userId " +
+            "ORDER BY p.date DESC, p.id DESC")
+    List<TimelineEntry> findSubscribedTimeline(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.theme.id AS themeId, p.date AS date FROM PostEntity p " +
+            "WHERE p.theme.id = :themeId " +
+            "ORDER BY p.date DESC, p.id DESC")
+    List<TimelineEntry> findTimelineByThemeId(@Param("themeId") Long themeId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.theme.id AS themeId, p.title AS title, p.description AS description " +
+            "FROM PostEntity p WHERE p.id > :afterId ORDER BY p.id")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.version AS version, p.updatedAt AS updatedAt FROM PostEntity p WHERE p.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    /**
+     * Avance la version des posts écrits ou commentés par un utilisateur après le changement de son nom,
+     * affiché dans ces posts et dans leurs pages de commentaires.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PostEntity p SET p.version = p.version + 1, p.updatedAt = :now WHERE p.user.id = :userId " +
+            "OR p.id IN (SELECT c.post.id FROM CommentEntity c WHERE c.user.id = :userId)")
+    int touchPostsOfAuthor(@Param("userId") Long userId, @Param("now") Timestamp now);
+
+    /**
+     * Entrée minimale d'un fil d'actualité matérialisé.
+     */
+    interface TimelineEntry {
+        Long getId();
+
+        Long getThemeId();
+
+        Timestamp getDate();
+    }
+
+    /**
+     * Colonnes d'un post indexées par la recherche plein texte.
+     */
+    interface SearchDocument {
+        Long getId();
+
+        Long getThemeId();
+
+        String getTitle();
+
+        String getDescription();
+    }
+
+    /**
+     * Version et date de modification d'un post, sans charger l'entité.
+     */
+    interface VersionStamp {
+        Long getVersion();
+
+        Timestamp getUpdatedAt();
+    }
+}
@@ -0,0 +1,66 @@
+    package com.openclassrooms.mddapi.repositories;
+
+    import com.openclassrooms.mddapi.model.entities.Subject;
+    import org.springframework.data.jpa.repository.JpaRepository;
+    import org.springframework.data.jpa.repository.Modifying;
+    import org.springframework.data.jpa.repository.Query;
+    import org.springframework.data.repository.query.Param;
+    import org.springframework.transaction.annotation.Transactional;
+
+    import java.sql.Timestamp;
+    import java.util.Collection;
+    import java.util.List;
+    import java.util.Set;
+
+    public interface SubjectRepository extends JpaRepository <Subject, Long> {
+        List<Subject> findByUsers_Id(Long user_id);
+
+        @Query("SELECT s.id FROM Subject s WHERE s.id IN :ids")
+        Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+        @Query("SELECT COUNT(s) AS subjectCount, COALESCE(SUM(s.version), 0) AS version, MAX(s.updatedAt) AS updatedAt, " +
+                "COALESCE(SUM(s.feedVersion), 0) AS feedVersion, MAX(s.feedUpdatedAt) AS feedUpdatedAt FROM Subject s")
+        SubjectsWatermark findWatermark();
+
+        /**
+         * Avance le filigrane des fils de plusieurs thèmes après la publication de posts.
+         */
+        @Modifying
+        @Transactional
+        @Query("UPDATE Subject s SET s.feedVersion = s.feedVersion + 1, s.feedUpdatedAt = :now WHERE s.id IN :ids")
+        int touchFeeds(@Param("ids") Collection<Long> ids, @Param("now") Timestamp now);
+
+        /**
+         * Avance le filigrane du fil du thème d'un post après l'ajout d'un commentaire.
+         */
+        @Modifying
+        @Transactional
+        @Query("UPDATE Subject s SET s.feedVersion = s.feedVersion + 1, s.feedUpdatedAt = :now " +
+                "WHERE s.id = (SELECT p.theme.id FROM PostEntity p WHERE p.id = :postId)")
+        int touchFeedOfPost(@Param("postId") Long postId, @Param("now") Timestamp now);
+
+        /**
+         * Avance le filigrane des fils des thèmes où un utilisateur a écrit ou commenté après le changement de son nom.
+         */
+        @Modifying
+        @Transactional
+        @Query("UPDATE Subject s SET s.feedVersion = s.feedVersion + 1, s.feedUpdatedAt = :now WHERE s.id IN " +
+                "(SELECT p.theme.id FROM PostEntity p WHERE p.user.id = :userId " +
+                "OR p.id IN (SELECT c.post.id FROM CommentEntity c WHERE c.user.id = :userId))")
+        int touchFeedsOfAuthor(@Param("userId") Long userId, @Param("now") Timestamp now);
+
+        /**
+         * Nombre de thèmes et sommes de leurs versions, propres et de fil, avec les dates de modification les plus récentes.
+         */
+        interface SubjectsWatermark {
+            Long getSubjectCount();
+
+            Long getVersion();
+
+            Timestamp getUpdatedAt();
+
+            Long getFeedVersion();
+
+            Timestamp getFeedUpdatedAt();
+        }
+    }
@@ -0,0 +1,18 @@
+package com.openclassrooms.mddapi.repositories;
+
+import java.util.Collection;
+
+/**
+ * Écritures groupées des abonnements, exécutées en JDBC par lots plutôt qu'entité par entité.
+ */
+public interface SubscriptionBulkRepository {
+
+    /**
+     * Abonne un utilisateur à plusieurs thèmes par un lot d'insertions idempotentes :
+     * les abonnements déjà présents sont conservés tels quels.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param subjectIds les identifiants des thèmes
+     */
+    void insertAll(Long userId, Collection<Long> subjectIds);
+}
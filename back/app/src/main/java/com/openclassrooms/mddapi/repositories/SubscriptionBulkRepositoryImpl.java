@@ -0,0 +1,30 @@
+package com.openclassrooms.mddapi.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+
+/**
+ * Implémentation JDBC de {@link SubscriptionBulkRepository}, rattachée à {@link SubscriptionRepository}.
+ * Les insertions partagent la connexion de la transaction JPA en cours ; sur MySQL,
+ * rewriteBatchedStatements regroupe le lot en un seul INSERT multi-lignes.
+ */
+@RequiredArgsConstructor
+class SubscriptionBulkRepositoryImpl implements SubscriptionBulkRepository {
+
+    private static final String INSERT = "INSERT INTO subscription (user_id, theme_id) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE theme_id = theme_id";
+
+    private static final int BATCH_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long userId, Collection<Long> subjectIds) {
+        jdbcTemplate.batchUpdate(INSERT, subjectIds, BATCH_SIZE, (statement, subjectId) -> {
+            statement.setLong(1, userId);
+            statement.setLong(2, subjectId);
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.openclassrooms.mddapi.repositories;
+
+import com.openclassrooms.mddapi.model.SubscriptionId;
+import com.openclassrooms.mddapi.model.entities.Subscription;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SubscriptionRepository extends JpaRepository<Subscription, SubscriptionId>, SubscriptionBulkRepository {
+    List<Subscription> findByUserId(Long userId);
+
+    List<Subscription> findBySubjectId(Long subjectId);
+
+    @Query("SELECT s.user.id FROM Subscription s WHERE s.subject.id = :subjectId")
+    List<Long> findUserIdsBySubjectId(@Param("subjectId") Long subjectId);
+
+    @Query("SELECT s.subject.id FROM Subscription s WHERE s.user.id = :userId")
+    List<Long> findSubjectIdsByUserId(@Param("userId") Long userId);
+    List<Subscription> findByUser(UserEntity user);
+
+    /**
+     * Insère un abonnement sans lecture préalable : l'utilisateur et le thème inexistants ainsi que les doublons
+     * sont rejetés par les contraintes de clé étrangère et de clé primaire.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO subscription (user_id, theme_id) VALUES (:userId, :subjectId)", nativeQuery = true)
+    void insert(@Param("userId") Long userId, @Param("subjectId") Long subjectId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Subscription s WHERE s.user.id = :userId AND s.subject.id = :subjectId")
+    int delete(@Param("userId") Long userId, @Param("subjectId") Long subjectId);
+
+    /**
+     * Désabonne un utilisateur de plusieurs thèmes en une seule suppression ; les thèmes auxquels
+     * il n'est pas abonné sont ignorés.
+     */
+    @Modifying
+    @Query("DELETE FROM Subscription s WHERE s.user.id = :userId AND s.subject.id IN :subjectIds")
+    int deleteAllForUser(@Param("userId") Long userId, @Param("subjectIds") Collection<Long> subjectIds);
+}
+
+
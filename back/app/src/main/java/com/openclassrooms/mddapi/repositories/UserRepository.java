@@ -0,0 +1,83 @@
+package com.openclassrooms.mddapi.repositories;
+
+import com.openclassrooms.mddapi.model.dtos.UserSummaryDto;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface UserRepository extends JpaRepository<UserEntity, Long> {
+ Optional<Credentials> findCredentialsByEmailNormalized(String emailNormalized);
+
+ Optional<UserEntity> findById(Integer userId);
+
+ @EntityGraph(UserEntity.WITH_SUBJECTS)
+ Optional<UserEntity> findWithSubjectsById(Long id);
+
+ @Query("SELECT new com.openclassrooms.mddapi.model.dtos.UserSummaryDto(u.id, u.userName) FROM UserEntity u WHERE u.id IN :ids")
+ List<UserSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+ @Query("SELECT u.userName FROM UserEntity u WHERE u.id = :id")
+ Optional<String> findUserNameById(@Param("id") Long id);
+
+ @Query("SELECT u.id FROM UserEntity u WHERE u.id IN :ids")
+ Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+ /**
+  * Filigrane du fil d'un utilisateur, lu en une seule requête sur ses abonnements et les thèmes correspondants.
+  */
+ @Query("SELECT u.feedVersion AS userVersion, u.feedUpdatedAt AS userUpdatedAt, " +
+         "COALESCE(SUM(s.version), 0) AS subjectVersion, MAX(s.updatedAt) AS subjectUpdatedAt, " +
+         "COALESCE(SUM(s.feedVersion), 0) AS feedVersion, MAX(s.feedUpdatedAt) AS feedUpdatedAt " +
+         "FROM UserEntity u LEFT JOIN u.subjects s WHERE u.id = :userId GROUP BY u.id, u.feedVersion, u.feedUpdatedAt")
+ Optional<FeedWatermark> findFeedWatermark(@Param("userId") Long userId);
+
+ /**
+  * Avance le filigrane du fil d'un utilisateur après un changement de ses abonnements.
+  */
+ @Modifying
+ @Transactional
+ @Query("UPDATE UserEntity u SET u.feedVersion = u.feedVersion + 1, u.feedUpdatedAt = :now WHERE u.id = :userId")
+ int touchFeed(@Param("userId") Long userId, @Param("now") Timestamp now);
+
+ /**
+  * Colonnes nécessaires à la connexion, sans charger l'entité ni ses abonnements.
+  */
+ interface Credentials {
+  Long getId();
+
+  String getUserName();
+
+  String getEmail();
+
+  String getPassword();
+ }
+
+ /**
+  * Version des abonnements d'un utilisateur et sommes des versions des thèmes suivis.
+  */
+ interface FeedWatermark {
+  Long getUserVersion();
+
+  Timestamp getUserUpdatedAt();
+
+  Long getSubjectVersion();
+
+  Timestamp getSubjectUpdatedAt();
+
+  Long getFeedVersion();
+
+  Timestamp getFeedUpdatedAt();
+ }
+
+}
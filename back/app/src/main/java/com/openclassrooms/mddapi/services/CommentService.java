@@ -0,0 +1,179 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.mapper.CommentMapper;
+import com.openclassrooms.mddapi.model.FeedCursor;
+import com.openclassrooms.mddapi.model.Watermark;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.entities.CommentEntity;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.CommentRepository;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service fournissant des opérations de gestion des commentaires.
+ * Gère la récupération et l'ajout de commentaires associés à des posts.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class CommentService implements ICommentService {
+
+    private final CommentRepository commentRepository;
+
+    private final PostRepository postRepository;
+
+    private final CommentMapper commentMapper;
+
+    private final UserRepository userRepository;
+
+    private final SubjectRepository subjectRepository;
+
+    private final ISearchService searchService;
+
+    private final IEventService eventService;
+
+    private final IUserService userService;
+
+    /**
+     * Récupère une page des commentaires d'un post, du plus ancien au plus récent.
+     * Chaque page est lue en une seule requête qui ne sélectionne que les colonnes de CommentDto,
+     * nom de l'auteur compris : aucune entité n'est chargée.
+     *
+     * @param postId l'identifiant du post pour lequel récupérer les commentaires
+     * @param cursor le jeton de continuation renvoyé par la page précédente, ou null pour la première page
+     * @param size le nombre de commentaires souhaité, borné par PageDto.MAX_PAGE_SIZE
+     * @return la page de CommentDto et le jeton de la page suivante
+     * @throws com.openclassrooms.mddapi.AppException si le jeton est invalide
+     */
+    public PageDto<CommentDto> getCommentsByPostId(Long postId, String cursor, Integer size) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        int pageSize = PageDto.boundedSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<CommentDto> comments = after == null
+                ? commentRepository.findPageByPostId(postId, limit)
+                : commentRepository.findPageByPostIdAfter(postId, after.getDate(), after.getId(), limit);
+        return PageDto.of(comments, pageSize, comment -> new FeedCursor(comment.getDate(), comment.getId()));
+    }
+
+    /**
+     * Convertit une entité CommentEntity en CommentDto.
+     *
+     * @param entity l'entité CommentEntity à convertir
+     * @return le CommentDto résultant de la conversion
+     */
+    public CommentDto convertToDto(CommentEntity entity) {
+        UserEntity user = entity.getUser();
+        String userName = user != null ? user.getUserName() : "Utilisateur inconnu";
+
+        return CommentDto.builder()
+                .id(entity.getId())
+                .userId(entity.getUser() != null ? entity.getUser().getId() : null)
+                .description(entity.getDescription())
+                .date(entity.getDate())
+                .postId(entity.getPost() != null ? entity.getPost().getId() : null)
+                .userName(userName)
+                .build();
+    }
+
+    /**
+     *Ajoute un nouveau commentaire à un post existant, en une seule insertion.
+     * Le post et l'auteur ne servent que de clés étrangères : leur absence n'est recherchée qu'en cas de violation de contrainte.
+     * Le filigrane du fil du thème du post n'est avancé qu'après l'insertion, pour qu'un ETag ne désigne jamais
+     * un fil auquel il manque le commentaire. Le nom de l'auteur est repris du cache, ou lu seul sur la clé primaire.
+     *
+     * @param postId l'identifiant du post auquel ajouter le commentaire.
+     * @param commentDto l'objet de transfert de données contenant les informations du commentaire à ajouter.
+     * @return l'objet de transfert de données représentant le commentaire ajouté.
+     *@throws AppException 404 si le post ou l'utilisateur associé au commentaire n'est pas trouvé, 400 si l'ID de l'utilisateur est null ou le commentaire invalide
+     */
+    public CommentDto addComment(Long postId, CommentDto commentDto) {
+        if (commentDto.getUserId() == null) {
+            throw new AppException("User ID must not be null", HttpStatus.BAD_REQUEST);
+        }
+
+        CommentEntity commentEntity = commentMapper.toEntity(commentDto);
+        commentEntity.setPost(postRepository.getReferenceById(postId));
+        commentEntity.setUser(userRepository.getReferenceById(commentDto.getUserId()));
+        commentEntity.setDate(new Date());
+
+        CommentEntity savedComment;
+        try {
+            savedComment = commentRepository.saveAndFlush(commentEntity);
+        } catch (DataIntegrityViolationException e) {
+            if (!postRepository.existsById(postId)) {
+                throw new AppException("Post not found with ID: " + postId, HttpStatus.NOT_FOUND);
+            }
+            if (!userRepository.existsById(commentDto.getUserId())) {
+                throw new AppException("User not found with ID: " + commentDto.getUserId(), HttpStatus.NOT_FOUND);
+            }
+            throw new AppException("Invalid comment", HttpStatus.BAD_REQUEST);
+        }
+
+        subjectRepository.touchFeedOfPost(postId, new Timestamp(savedComment.getDate().getTime()));
+        searchService.onCommentAdded(savedComment.getId(), postId, savedComment.getDescription());
+        CommentDto createdComment = commentMapper.toDto(savedComment);
+        createdComment.setUserName(userService.getUserName(commentDto.getUserId()));
+        eventService.onCommentAdded(createdComment);
+        return createdComment;
+    }
+
+    /**
+     * Compte en une seule requête groupée les commentaires de plusieurs posts.
+     *
+     * @param postIds les identifiants des posts
+     * @return le nombre de commentaires par identifiant de post ; les posts sans commentaire sont absents
+     */
+    public Map<Long, Long> countCommentsByPostIds(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.countByPostIds(postIds).stream()
+                .collect(Collectors.toMap(CommentRepository.CommentCount::getPostId,
+                        CommentRepository.CommentCount::getCommentCount));
+    }
+
+    /**
+     * Récupère en une seule requête le dernier commentaire de plusieurs posts.
+     *
+     * @param postIds les identifiants des posts
+     * @return le dernier CommentDto par identifiant de post ; les posts sans commentaire sont absents
+     */
+    public Map<Long, CommentDto> getLatestCommentsByPostIds(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findLatestByPostIds(postIds).stream()
+                .collect(Collectors.toMap(CommentDto::getPostId, Function.identity()));
+    }
+
+    /**
+     * Calcule en une seule requête d'agrégat les validateurs des commentaires d'un post.
+     *
+     * @param postId l'identifiant du post
+     * @return l'ETag des commentaires du post, sans date de modification : les dates des commentaires
+     * n'ont que la précision du jour, un If-Modified-Since manquerait les ajouts de la journée
+     */
+    public Watermark getCommentsWatermark(Long postId) {
+        CommentRepository.CommentsWatermark versions = commentRepository.findWatermarkByPostId(postId);
+        return Watermark.of("comments", versions.getPostVersion() != null ? versions.getPostVersion() : 0,
+                versions.getCommentCount(), versions.getLastId() != null ? versions.getLastId() : 0);
+    }
+}
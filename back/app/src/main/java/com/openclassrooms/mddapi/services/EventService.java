@@ -0,0 +1,324 @@
+package com.openclassrooms.mddapi.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+import com.openclassrooms.mddapi.repositories.SubscriptionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service diffusant en Server-Sent Events les nouveaux posts des thèmes suivis et les nouveaux commentaires
+ * du post consulté. Les flux reposent sur le servlet asynchrone : une connexion inactive n'occupe aucun thread.
+ * Chaque événement est sérialisé une seule fois puis déposé dans la file bornée de chaque connexion concernée ;
+ * un pool d'envoi (threads virtuels si spring.threads.virtual.enabled) vide les files. Une connexion dont la file
+ * est pleine est un client trop lent : elle est fermée, et le client se reconnecte puis relit le fil.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventService implements IEventService {
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    private final SubscriptionRepository subscriptionRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mddapi.events.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${mddapi.events.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${mddapi.events.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${mddapi.events.heartbeat-interval:30s}")
+    private Duration heartbeatInterval;
+
+    @Value("${mddapi.events.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<Long, Set<Connection>> bySubject = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<Connection>> byPost = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<Connection>> byUser = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private Counter evicted;
+
+    private Executor dispatcher;
+
+    private ScheduledExecutorService heartbeat;
+
+    /**
+     * Crée le pool d'envoi, les métriques et le battement de cœur qui garde les connexions ouvertes
+     * à travers les proxys et détecte les clients partis.
+     */
+    @PostConstruct
+    protected void init() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-dispatch-");
+            executor.setVirtualThreads(true);
+            dispatcher = executor;
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "sse-dispatch-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        meterRegistry.gauge("mddapi.events.connections", connections);
+        evicted = Counter.builder("mddapi.events.evicted")
+                .description("Flux fermés car le client ne lisait pas assez vite")
+                .register(meterRegistry);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(() -> byUser.values().forEach(set -> set.forEach(c -> enqueue(c, HEARTBEAT))),
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        heartbeat.shutdownNow();
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        byUser.values().forEach(set -> set.forEach(c -> c.emitter.complete()));
+    }
+
+    /**
+     * Ouvre le flux d'événements d'un utilisateur : les posts de ses thèmes et, s'il consulte un post,
+     * les commentaires de ce post.
+     *
+     * @param userId l'identifiant de l'utilisateur connecté
+     * @param watchedPostId l'identifiant du post consulté, ou null
+     * @return l'émetteur SSE, fermé après timeout (le client se reconnecte alors)
+     * @throws AppException 503 si le nombre maximum de flux ouverts est atteint
+     */
+    public SseEmitter connect(Long userId, Long watchedPostId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new AppException("Too many open event streams, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Connection connection = new Connection(userId, watchedPostId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+
+        try {
+            add(byUser, userId, connection);
+            for (Long subjectId : subscriptionRepository.findSubjectIdsByUserId(userId)) {
+                connection.subjects.add(subjectId);
+                add(bySubject, subjectId, connection);
+            }
+            if (watchedPostId != null) {
+                add(byPost, watchedPostId, connection);
+            }
+        } catch (RuntimeException e) {
+            // L'émetteur ne sera jamais renvoyé ni complété : libérer ici la place et les entrées d'index déjà prises
+            remove(connection);
+            throw e;
+        }
+        // Envoie les en-têtes immédiatement, sans attendre le premier événement
+        enqueue(connection, HEARTBEAT);
+        return emitter;
+    }
+
+    /**
+     * Diffuse un nouveau post aux abonnés de son thème, hormis son auteur.
+     *
+     * @param post le post créé
+     */
+    public void onPostCreated(PostDto post) {
+        Set<Connection> targets = bySubject.get(post.getThemeId());
+        if (targets == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = event("post", post.getId(), post);
+        Long authorId = post.getUserId() != null ? post.getUserId().longValue() : null;
+        for (Connection connection : targets) {
+            if (!connection.userId.equals(authorId)) {
+                enqueue(connection, event);
+            }
+        }
+    }
+
+    /**
+     * Diffuse un nouveau commentaire aux utilisateurs qui consultent son post, hormis son auteur.
+     *
+     * @param comment le commentaire ajouté
+     */
+    public void onCommentAdded(CommentDto comment) {
+        Set<Connection> targets = byPost.get(comment.getPostId());
+        if (targets == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = event("comment", comment.getId(), comment);
+        for (Connection connection : targets) {
+            if (!connection.userId.equals(comment.getUserId())) {
+                enqueue(connection, event);
+            }
+        }
+    }
+
+    /**
+     * Ajoute un thème aux flux ouverts d'un utilisateur qui vient de s'y abonner.
+     */
+    public void onSubscribed(Long userId, Long subjectId) {
+        for (Connection connection : byUser.getOrDefault(userId, Set.of())) {
+            connection.subjects.add(subjectId);
+            add(bySubject, subjectId, connection);
+        }
+    }
+
+    /**
+     * Retire un thème des flux ouverts d'un utilisateur qui vient de s'en désabonner.
+     */
+    public void onUnsubscribed(Long userId, Long subjectId) {
+        for (Connection connection : byUser.getOrDefault(userId, Set.of())) {
+            connection.subjects.remove(subjectId);
+            removeFrom(bySubject, subjectId, connection);
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> event(String name, Long id, Object payload) {
+        try {
+            return SseEmitter.event().name(name).id(String.valueOf(id))
+                    .data(objectMapper.writeValueAsString(payload)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialise " + name + " event", e);
+        }
+    }
+
+    /**
+     * Dépose un événement dans la file de la connexion sans jamais bloquer l'appelant,
+     * et planifie son envoi si aucun n'est en cours. Une file pleine provoque l'éviction de la connexion.
+     */
+    private void enqueue(Connection connection, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (connection.closed.get()) {
+            return;
+        }
+        if (!connection.queue.offer(event)) {
+            evicted.increment();
+            remove(connection);
+            connection.emitter.complete();
+            return;
+        }
+        schedule(connection);
+    }
+
+    private void schedule(Connection connection) {
+        if (connection.sending.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> event;
+            while (!connection.closed.get() && (event = connection.queue.poll()) != null) {
+                connection.emitter.send(event);
+            }
+        } catch (Exception e) {
+            // Client parti : le conteneur signalera aussi l'erreur via onError
+            remove(connection);
+        } finally {
+            connection.sending.set(false);
+            if (!connection.closed.get() && !connection.queue.isEmpty()) {
+                schedule(connection);
+            }
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        connection.queue.clear();
+        removeFrom(byUser, connection.userId, connection);
+        for (Long subjectId : connection.subjects) {
+            removeFrom(bySubject, subjectId, connection);
+        }
+        if (connection.watchedPostId != null) {
+            removeFrom(byPost, connection.watchedPostId, connection);
+        }
+    }
+
+    private static void add(Map<Long, Set<Connection>> index, Long key, Connection connection) {
+        index.compute(key, (k, set) -> {
+            Set<Connection> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(connection);
+            return result;
+        });
+    }
+
+    private static void removeFrom(Map<Long, Set<Connection>> index, Long key, Connection connection) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Flux ouvert : sa file bornée d'événements à envoyer et les thèmes auxquels il est rattaché.
+     */
+    private static final class Connection {
+        private final Long userId;
+        private final Long watchedPostId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final Set<Long> subjects = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Long userId, Long watchedPostId, SseEmitter emitter,
+                           BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.userId = userId;
+            this.watchedPostId = watchedPostId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
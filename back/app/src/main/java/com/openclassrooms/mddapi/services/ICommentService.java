@@ -0,0 +1,24 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.Watermark;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.entities.CommentEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ICommentService {
+    PageDto<CommentDto> getCommentsByPostId(Long postId, String cursor, Integer size);
+
+    CommentDto convertToDto(CommentEntity entity);
+
+    CommentDto addComment(Long postId, CommentDto commentDto);
+
+    Map<Long, Long> countCommentsByPostIds(Collection<Long> postIds);
+
+    Map<Long, CommentDto> getLatestCommentsByPostIds(Collection<Long> postIds);
+
+    Watermark getCommentsWatermark(Long postId);
+}
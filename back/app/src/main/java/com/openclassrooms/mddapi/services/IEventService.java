@@ -0,0 +1,17 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface IEventService {
+    SseEmitter connect(Long userId, Long watchedPostId);
+
+    void onPostCreated(PostDto post);
+
+    void onCommentAdded(CommentDto comment);
+
+    void onSubscribed(Long userId, Long subjectId);
+
+    void onUnsubscribed(Long userId, Long subjectId);
+}
@@ -0,0 +1,9 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.dtos.PostImportReportDto;
+
+import java.io.InputStream;
+
+public interface IPostImportService {
+    PostImportReportDto importPosts(InputStream body);
+}
@@ -0,0 +1,29 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.FeedFilter;
+import com.openclassrooms.mddapi.model.Watermark;
+import com.openclassrooms.mddapi.model.dtos.FeedPostDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IPostService {
+    List<PostDto> getAllPost(PostDto postDto, String sortBy, String order, Integer size, boolean withLatestComment);
+
+    PageDto<PostDto> getPostFeed(String cursor, Integer size, boolean withLatestComment);
+
+    PostDto createPost(PostDto postDto);
+
+    PostDto getPostById(Long id);
+
+    PageDto<FeedPostDto> getPostsForUser(Long userId, FeedFilter filter, String cursor, Integer size,
+                                         boolean withLatestComment);
+
+    Optional<Watermark> getPostWatermark(Long id);
+
+    Watermark getFeedWatermark();
+
+    Optional<Watermark> getFeedWatermark(Long userId);
+}
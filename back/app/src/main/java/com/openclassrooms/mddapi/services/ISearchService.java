@@ -0,0 +1,14 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.SearchHitDto;
+
+public interface ISearchService {
+    PageDto<SearchHitDto> search(String text, Long subjectId, String cursor, Integer size);
+
+    void onPostCreated(Long postId, Long subjectId, String title, String description);
+
+    void onCommentAdded(Long commentId, Long postId, String description);
+
+    long rebuild();
+}
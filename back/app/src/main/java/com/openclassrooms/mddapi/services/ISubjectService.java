@@ -0,0 +1,14 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.Watermark;
+import com.openclassrooms.mddapi.model.dtos.SubjectDto;
+
+import java.util.List;
+
+public interface ISubjectService {
+    List<SubjectDto> getSubject(SubjectDto subjectDto);
+
+    List<SubjectDto> getSubjectsForUser(Long userId);
+
+    Watermark getSubjectsWatermark();
+}
@@ -1,8 +1,14 @@
 package com.openclassrooms.mddapi.services;
 
+import java.util.Set;
+
 public interface ISubscriptionService {
 
     void subscribeUserToSubject(Long userId, Long subjectId);
 
     void unsubscribeUserFromSubject(Long userId, Long subjectId);
+
+    void subscribeUserToSubjects(Long userId, Set<Long> subjectIds);
+
+    void unsubscribeUserFromSubjects(Long userId, Set<Long> subjectIds);
 }
@@ -0,0 +1,19 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.FeedCursor;
+
+public interface ITimelineService {
+    boolean isEnabled();
+
+    long[] getPage(Long userId, FeedCursor after, int limit);
+
+    void onPostCreated(Long postId, Long subjectId, long date);
+
+    void onSubscribed(Long userId, Long subjectId);
+
+    void onUnsubscribed(Long userId, Long subjectId);
+
+    void onSubscriptionsChanged(Long userId);
+
+    void onPostsImported();
+}
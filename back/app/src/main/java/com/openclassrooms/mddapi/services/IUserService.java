@@ -0,0 +1,28 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.dtos.CredentialsDto;
+import com.openclassrooms.mddapi.model.dtos.PasswordChangeDto;
+import com.openclassrooms.mddapi.model.dtos.SignUpDto;
+import com.openclassrooms.mddapi.model.dtos.UpdateUserDto;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.dtos.UserSummaryDto;
+
+import java.util.List;
+
+public interface IUserService {
+    UserDto register(SignUpDto signUpDto);
+
+    UserDto login(CredentialsDto credentialsDto);
+
+    UserDto getUser(final Long id);
+
+    List<UserSummaryDto> getUserSummaries(List<Long> ids);
+
+    UserDto updateUser(Long id, UpdateUserDto updateUserDto);
+
+    void changePassword(Long id, PasswordChangeDto passwordChangeDto);
+
+    String getUserName(Long id);
+
+    UserDto getCurrentUser();
+}
@@ -0,0 +1,379 @@
+package com.openclassrooms.mddapi.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.mapper.PostMapper;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+import com.openclassrooms.mddapi.model.dtos.PostImportReportDto;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service d'import en masse de posts au format NDJSON (un objet JSON par ligne).
+ * Le corps est lu ligne à ligne par un parseur JSON incrémental, sans être chargé en mémoire ; les lignes valides sont écrites par lots,
+ * chaque lot dans sa propre transaction et en lots JDBC grâce aux identifiants alloués par séquence.
+ * Une ligne invalide est rejetée et signalée sans interrompre l'import.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostImportService implements IPostImportService {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    /**
+     * Taille maximale d'une colonne TEXT MySQL, en octets.
+     */
+    private static final int MAX_DESCRIPTION_BYTES = 65_535;
+
+    private final ObjectMapper objectMapper;
+
+    private final PostMapper postMapper;
+
+    private final PostRepository postRepository;
+
+    private final SubjectRepository subjectRepository;
+
+    private final UserRepository userRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ITimelineService timelineService;
+
+    private final ISearchService searchService;
+
+    private final IUserService userService;
+
+    @Value("${mddapi.post-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${mddapi.post-import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${mddapi.post-import.max-line-bytes:1048576}")
+    private int maxLineBytes;
+
+    /**
+     * Comptes autorisés à importer : un import peut attribuer les posts à d'autres auteurs et les antidater.
+     */
+    @Value("${mddapi.post-import.importer-ids:}")
+    private Set<Long> importerIds;
+
+    /**
+     * Importe les posts décrits par un flux NDJSON. Chaque ligne reprend les champs de création d'un post
+     * (title, description, themeId, userId) et peut fournir sa date d'origine ; les lignes vides sont ignorées.
+     * Réservé aux comptes de mddapi.post-import.importer-ids ; une ligne de plus de
+     * mddapi.post-import.max-line-bytes octets est rejetée sans être chargée.
+     *
+     * @param body le corps de la requête, encodé en UTF-8
+     * @return le bilan de l'import, avec le numéro et le motif des premières lignes rejetées
+     * @throws AppException 403 si l'utilisateur authentifié n'est pas un compte d'import
+     */
+    public PostImportReportDto importPosts(InputStream body) {
+        UserDto caller = userService.getCurrentUser();
+        if (caller == null || !importerIds.contains(caller.getId())) {
+            throw new AppException("Post import is reserved to importer accounts", HttpStatus.FORBIDDEN);
+        }
+        ObjectReader reader = objectMapper.readerFor(PostDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Report report = new Report();
+        List<Line> batch = new ArrayList<>(batchSize);
+        long number = 0;
+        try (InputStream buffered = new BufferedInputStream(body)) {
+            LineStream line = new LineStream(buffered, maxLineBytes);
+            while (line.next()) {
+                number++;
+                try {
+                    PostDto post = parse(reader, line);
+                    if (post == null) {
+                        continue;
+                    }
+                    validate(post);
+                    batch.add(new Line(number, post));
+                } catch (InvalidLineException e) {
+                    report.reject(number, e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    write(batch, report);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            report.reject(number + 1, "Unable to read request body: " + e.getMessage());
+        }
+        write(batch, report);
+        if (report.imported > 0) {
+            timelineService.onPostsImported();
+        }
+        return report.toDto();
+    }
+
+    /**
+     * Lit l'objet JSON d'une ligne jeton par jeton, directement depuis le flux de la ligne.
+     *
+     * @return le post décrit par la ligne, ou null si la ligne est vide
+     * @throws IOException si le corps de la requête ne peut plus être lu
+     */
+    private PostDto parse(ObjectReader reader, LineStream line) throws InvalidLineException, IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            PostDto post = reader.readValue(parser);
+            if (post == null) {
+                throw new InvalidLineException("A JSON object is expected");
+            }
+            if (parser.nextToken() != null) {
+                throw new InvalidLineException("One JSON object per line is expected");
+            }
+            return post;
+        } catch (LineTooLongException e) {
+            throw new InvalidLineException(e.getMessage());
+        } catch (JsonProcessingException e) {
+            throw new InvalidLineException("Invalid JSON: " + e.getOriginalMessage());
+        } catch (BodyReadException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidLineException("Invalid JSON: " + e.getMessage());
+        }
+    }
+
+    private void validate(PostDto post) throws InvalidLineException {
+        if (post == null) {
+            throw new InvalidLineException("A JSON object is expected");
+        }
+        if (post.getTitle() == null || post.getTitle().isBlank()) {
+            throw new InvalidLineException("Title is required");
+        }
+        if (post.getTitle().length() > MAX_TITLE_LENGTH) {
+            throw new InvalidLineException("Title must not exceed " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (post.getDescription() == null || post.getDescription().isBlank()) {
+            throw new InvalidLineException("Description is required");
+        }
+        if (post.getDescription().getBytes(StandardCharsets.UTF_8).length > MAX_DESCRIPTION_BYTES) {
+            throw new InvalidLineException("Description must not exceed " + MAX_DESCRIPTION_BYTES + " bytes");
+        }
+        if (post.getThemeId() == null || post.getUserId() == null) {
+            throw new InvalidLineException("Theme and user are required");
+        }
+    }
+
+    /**
+     * Écrit un lot dans sa propre transaction : les thèmes et auteurs référencés sont vérifiés en deux requêtes,
+     * puis les posts sont insérés en lots JDBC, le contexte de persistance est vidé et les posts sont indexés.
+     * Si la base rejette le lot, toutes ses lignes sont signalées et l'import continue avec le lot suivant :
+     * l'échec du flush explicite remonte de l'EntityManager en PersistenceException, non traduite par Spring.
+     */
+    private void write(List<Line> batch, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<Long> themeIds = batch.stream().map(line -> line.post().getThemeId()).collect(Collectors.toSet());
+        Set<Long> userIds = batch.stream().map(line -> line.post().getUserId().longValue()).collect(Collectors.toSet());
+        List<Line> accepted = new ArrayList<>(batch.size());
+        List<PostEntity> posts = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> knownThemes = subjectRepository.findExistingIds(themeIds);
+                Set<Long> knownUsers = userRepository.findExistingIds(userIds);
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                Timestamp date = PostEntity.currentDate();
+                for (Line line : batch) {
+                    PostDto post = line.post();
+                    if (!knownThemes.contains(post.getThemeId())) {
+                        report.reject(line.number(), "Theme not found: " + post.getThemeId());
+                    } else if (!knownUsers.contains(post.getUserId().longValue())) {
+                        report.reject(line.number(), "User not found: " + post.getUserId());
+                    } else {
+                        PostEntity entity = postMapper.toEntity(post);
+                        entity.setId(null);
+                        entity.setTheme(subjectRepository.getReferenceById(post.getThemeId()));
+                        entity.setUser(userRepository.getReferenceById(post.getUserId().longValue()));
+                        if (entity.getDate() == null) {
+                            entity.setDate(date);
+                        }
+                        posts.add(entity);
+                        accepted.add(line);
+                    }
+                }
+                postRepository.saveAll(posts);
+                entityManager.flush();
+                entityManager.clear();
+                if (!accepted.isEmpty()) {
+                    subjectRepository.touchFeeds(accepted.stream().map(line -> line.post().getThemeId())
+                            .collect(Collectors.toSet()), now);
+                }
+            });
+            report.imported += accepted.size();
+            for (int i = 0; i < posts.size(); i++) {
+                PostEntity post = posts.get(i);
+                searchService.onPostCreated(post.getId(), accepted.get(i).post().getThemeId(),
+                        post.getTitle(), post.getDescription());
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Line line : accepted) {
+                report.reject(line.number(), "Batch rejected by the database: " + cause);
+            }
+        }
+    }
+
+    private record Line(long number, PostDto post) {
+    }
+
+    /**
+     * Vue sur la ligne courante du corps : elle se termine au saut de ligne et refuse plus de maxBytes octets,
+     * pour qu'une ligne démesurée ne soit jamais chargée en mémoire. Sa fin est ignorée par {@link #next()}.
+     */
+    private static final class LineStream extends InputStream {
+        private final InputStream body;
+        private final int maxBytes;
+        private int length;
+        private boolean endOfLine = true;
+        private boolean endOfBody;
+
+        private LineStream(InputStream body, int maxBytes) {
+            this.body = body;
+            this.maxBytes = maxBytes;
+        }
+
+        /**
+         * Passe à la ligne suivante en sautant ce qui reste de la ligne courante.
+         *
+         * @return false à la fin du corps
+         */
+        private boolean next() throws IOException {
+            while (!endOfLine && !endOfBody) {
+                int b = readBody();
+                endOfLine = b == '\n';
+                endOfBody = b == -1;
+            }
+            if (endOfBody) {
+                return false;
+            }
+            endOfLine = false;
+            length = 0;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (endOfLine || endOfBody) {
+                return -1;
+            }
+            int b = readBody();
+            if (b == -1) {
+                endOfBody = true;
+                return -1;
+            }
+            if (b == '\n') {
+                endOfLine = true;
+                return -1;
+            }
+            if (++length > maxBytes) {
+                throw new LineTooLongException("Line must not exceed " + maxBytes + " bytes");
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int count) throws IOException {
+            int read = 0;
+            while (read < count) {
+                int b = read();
+                if (b == -1) {
+                    break;
+                }
+                buffer[offset + read++] = (byte) b;
+            }
+            return read == 0 && count > 0 ? -1 : read;
+        }
+
+        /**
+         * Le corps reste ouvert quand le parseur d'une ligne est fermé.
+         */
+        @Override
+        public void close() {
+        }
+
+        private int readBody() throws BodyReadException {
+            try {
+                return body.read();
+            } catch (IOException e) {
+                throw new BodyReadException(e);
+            }
+        }
+    }
+
+    /**
+     * Ligne plus longue que la limite, rejetée sans être lue jusqu'au bout.
+     */
+    private static class LineTooLongException extends IOException {
+        LineTooLongException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Échec de lecture du corps lui-même, qui interrompt l'import.
+     */
+    private static class BodyReadException extends IOException {
+        BodyReadException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Ligne rejetée avant écriture : JSON illisible ou champ obligatoire manquant.
+     */
+    private static class InvalidLineException extends Exception {
+        InvalidLineException(String message) {
+            super(message);
+        }
+    }
+
+    private class Report {
+        private long imported;
+        private long rejected;
+        private final List<PostImportReportDto.LineError> errors = new ArrayList<>();
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new PostImportReportDto.LineError(line, message));
+            }
+        }
+
+        private PostImportReportDto toDto() {
+            return new PostImportReportDto(imported, rejected, errors);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.mapper.PostMapper;
+import com.openclassrooms.mddapi.model.FeedCursor;
+import com.openclassrooms.mddapi.model.FeedFilter;
+import com.openclassrooms.mddapi.model.PostSortKey;
+import com.openclassrooms.mddapi.model.Watermark;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.FeedPostDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.SubscriptionRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service fournissant des opérations de gestion des posts.
+ * Gère la récupération, la création et la récupération par identifiant des posts.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class PostService implements IPostService{
+
+    private final PostRepository postRepository;
+    private final SubjectRepository subjectRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final PostMapper postMapper;
+    private final UserRepository userRepository;
+    private final ITimelineService timelineService;
+    private final ISearchService searchService;
+    private final IEventService eventService;
+    private final ICommentService commentService;
+    private final IUserService userService;
+
+
+    /**
+     * Récupère les premiers posts de la base de données, triés par une des clés de {@link PostSortKey}.
+     * Le nombre de posts renvoyés est borné par PageDto.MAX_PAGE_SIZE.
+     *
+     * @param postDto l'objet de transfert de données contenant les critères de récupération des posts.
+     * @param sortBy sortBy le champ par lequel trier les résultats.
+     * @param order order l'ordre de tri (ascendant ou descendant).
+     * @param size le nombre maximum de posts à renvoyer.
+     * @param withLatestComment true pour joindre à chaque post son dernier commentaire.
+     * @return une liste de PostDto représentant les posts triés, avec leur nombre de commentaires.
+     * @throws AppException si la clé de tri n'est pas autorisée ou si la valeur de l'ordre est invalide.
+     */
+
+    public List<PostDto> getAllPost(PostDto postDto, String sortBy, String order, Integer size,
+                                    boolean withLatestComment) {
+        Sort.Direction direction = Sort.Direction.fromOptionalString(order)
+                .orElseThrow(() -> new AppException("Invalid order value: " + order, HttpStatus.BAD_REQUEST));
+
+        Sort sort = PostSortKey.from(sortBy).toSort(direction);
+        List<PostEntity> posts = postRepository.findAllBy(PageRequest.of(0, PageDto.boundedSize(size), sort));
+
+        List<PostDto> postDtos = postMapper.toDto(posts);
+        attachCommentStats(postDtos, PostDto::getId, PostDto::setCommentCount, PostDto::setLatestComment,
+                withLatestComment);
+        return postDtos;
+    }
+
+    /**
+     * Récupère une page du fil de tous les posts, du plus récent au plus ancien.
+     * La pagination se fait par clé (date, id) : le coût d'une page ne dépend pas de sa position dans le fil.
+     *
+     * @param cursor le jeton de continuation renvoyé par la page précédente, ou null pour la première page
+     * @param size le nombre de posts souhaité, borné par PageDto.MAX_PAGE_SIZE
+     * @param withLatestComment true pour joindre à chaque post son dernier commentaire
+     * @return la page de PostDto, avec leur nombre de commentaires, et le jeton de la page suivante
+     * @throws com.openclassrooms.mddapi.AppException si le jeton est invalide
+     */
+    public PageDto<PostDto> getPostFeed(String cursor, Integer size, boolean withLatestComment) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        int pageSize = PageDto.boundedSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<PostEntity> posts = after == null
+                ? postRepository.findFeed(limit)
+                : postRepository.findFeedBefore(after.getDate(), after.getId(), limit);
+
+        PageDto<PostDto> page = PageDto.of(postMapper.toDto(posts), pageSize,
+                post -> new FeedCursor(post.getDate(), post.getId()));
+        attachCommentStats(page.getContent(), PostDto::getId, PostDto::setCommentCount, PostDto::setLatestComment,
+                withLatestComment);
+        return page;
+    }
+
+    /**
+     * Crée un nouveau post dans la base de données en une seule insertion.
+     * Le thème et l'auteur ne servent que de clés étrangères : le post est rattaché à des références sans lecture
+     * préalable, et leur absence n'est recherchée qu'en cas de violation de contrainte.
+     * Le filigrane du fil du thème n'est avancé qu'après l'insertion, pour qu'un ETag ne désigne jamais
+     * un fil auquel il manque le post. Le nom de l'auteur est repris du cache, ou lu seul sur la clé primaire.
+     *
+     * @param postDto l'objet de transfert de données contenant les informations du post à créer
+     * @return l'objet de transfert de données représentant le post créé
+     * @throws AppException 404 si le thème ou l'utilisateur associé au post n'est pas trouvé, 400 si le post est invalide
+     */
+    public PostDto createPost(PostDto postDto) {
+        if (postDto.getThemeId() == null || postDto.getUserId() == null) {
+            throw new AppException("Theme and user are required", HttpStatus.BAD_REQUEST);
+        }
+        Long themeId = postDto.getThemeId();
+        Long userId = postDto.getUserId().longValue();
+
+        PostEntity postEntity = postMapper.toEntity(postDto);
+        // Un identifiant envoyé par le client ne doit jamais désigner un post existant
+        postEntity.setId(null);
+        postEntity.setTheme(subjectRepository.getReferenceById(themeId));
+        postEntity.setUser(userRepository.getReferenceById(userId));
+        postEntity.setDate(PostEntity.currentDate());
+
+        PostEntity savedPostEntity;
+        try {
+            savedPostEntity = postRepository.saveAndFlush(postEntity);
+        } catch (DataIntegrityViolationException e) {
+            if (!subjectRepository.existsById(themeId)) {
+                throw new AppException("Theme not found", HttpStatus.NOT_FOUND);
+            }
+            if (!userRepository.existsById(userId)) {
+                throw new AppException("User not found", HttpStatus.NOT_FOUND);
+            }
+            throw new AppException("Invalid post", HttpStatus.BAD_REQUEST);
+        }
+        subjectRepository.touchFeeds(List.of(themeId), savedPostEntity.getDate());
+        timelineService.onPostCreated(savedPostEntity.getId(), themeId, savedPostEntity.getDate().getTime());
+        searchService.onPostCreated(savedPostEntity.getId(), themeId, savedPostEntity.getTitle(),
+                savedPostEntity.getDescription());
+        PostDto createdPost = postMapper.toDto(savedPostEntity);
+        createdPost.setUserName(userService.getUserName(userId));
+        eventService.onPostCreated(createdPost);
+        return createdPost;
+    }
+
+    /**
+     * Récupère un post par son identifiant.
+     *
+     * @param id l'identifiant du post à récupérer.
+     * @return l'objet de transfert de données représentant le post récupéré.
+     * @throws EntityNotFoundException si le post n'est pas trouvé
+     */
+    public PostDto getPostById(Long id) {
+        PostEntity postEntity = postRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with id " + id));
+
+        return postMapper.toDto(postEntity);
+    }
+
+    /**
+     * Récupère une page des posts des thèmes auxquels un utilisateur est abonné, triés et filtrés en SQL.
+     * La jointure abonnement → post est faite en une seule requête qui ne renvoie que les colonnes du fil,
+     * ou, si le fil matérialisé est activé et qu'aucun filtre n'est demandé, remplacée par une lecture en mémoire
+     * suivie d'une requête par identifiants.
+     *
+     * @param userId l'identifiant de l'utilisateur.
+     * @param filter l'ordre de tri par date, le thème et l'intervalle de dates à appliquer.
+     * @param cursor le jeton de continuation renvoyé par la page précédente, ou null pour la première page.
+     * @param size le nombre de posts souhaité, borné par PageDto.MAX_PAGE_SIZE.
+     * @param withLatestComment true pour joindre à chaque post son dernier commentaire.
+     * @return la page de FeedPostDto, avec leur nombre de commentaires, et le jeton de la page suivante.
+     * @throws com.openclassrooms.mddapi.AppException si le jeton est invalide.
+     */
+    public PageDto<FeedPostDto> getPostsForUser(Long userId, FeedFilter filter, String cursor, Integer size,
+                                                boolean withLatestComment) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        int pageSize = PageDto.boundedSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+        Timestamp afterDate = after != null ? after.getDate() : null;
+        Long afterId = after != null ? after.getId() : null;
+
+        long[] timelineIds = filter.isDefault() ? timelineService.getPage(userId, after, pageSize + 1) : null;
+        List<FeedPostDto> posts;
+        if (timelineIds != null) {
+            posts = hydrate(timelineIds);
+        } else if (filter.isAscending()) {
+            posts = postRepository.findSubscribedFeedAsc(userId, filter.getSubjectId(), filter.getFrom(),
+                    filter.getTo(), afterDate, afterId, limit);
+        } else {
+            posts = postRepository.findSubscribedFeedDesc(userId, filter.getSubjectId(), filter.getFrom(),
+                    filter.getTo(), afterDate, afterId, limit);
+        }
+
+        PageDto<FeedPostDto> page = PageDto.of(posts, pageSize, post -> new FeedCursor(post.getDate(), post.getId()));
+        attachCommentStats(page.getContent(), FeedPostDto::getId, FeedPostDto::setCommentCount,
+                FeedPostDto::setLatestComment, withLatestComment);
+        return page;
+    }
+
+    /**
+     * Lit la version d'un post sans charger l'entité.
+     *
+     * @param id l'identifiant du post
+     * @return l'ETag et la date de dernière modification du post, ou vide si le post n'existe pas
+     */
+    public Optional<Watermark> getPostWatermark(Long id) {
+        return postRepository.findVersionStampById(id)
+                .map(version -> Watermark.of("post", version.getVersion()).modifiedAt(version.getUpdatedAt()));
+    }
+
+    /**
+     * Calcule les validateurs du fil de tous les posts à partir des filigranes de fil de tous les thèmes,
+     * en une seule requête d'agrégat sur la table des thèmes.
+     *
+     * @return l'ETag et la date de dernière modification du fil global
+     */
+    public Watermark getFeedWatermark() {
+        SubjectRepository.SubjectsWatermark versions = subjectRepository.findWatermark();
+        return Watermark.of("feed", versions.getSubjectCount(), versions.getFeedVersion())
+                .modifiedAt(versions.getFeedUpdatedAt());
+    }
+
+    /**
+     * Calcule les validateurs du fil d'un utilisateur en une seule requête : version de ses abonnements,
+     * sommes des versions et des filigranes de fil des thèmes suivis.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return l'ETag et la date de dernière modification du fil, ou vide si l'utilisateur n'existe pas
+     */
+    public Optional<Watermark> getFeedWatermark(Long userId) {
+        return userRepository.findFeedWatermark(userId)
+                .map(versions -> Watermark.of("user-feed", versions.getUserVersion(), versions.getSubjectVersion(),
+                                versions.getFeedVersion())
+                        .modifiedAt(versions.getUserUpdatedAt(), versions.getSubjectUpdatedAt(),
+                                versions.getFeedUpdatedAt()));
+    }
+
+    /**
+     * Charge en une requête les posts d'une page du fil matérialisé, dans l'ordre des identifiants fournis.
+     *
+     * @param ids les identifiants des posts dans l'ordre du fil
+     * @return les FeedPostDto correspondants, dans le même ordre
+     */
+    private List<FeedPostDto> hydrate(long[] ids) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        Map<Long, FeedPostDto> byId = postRepository.findFeedPostsByIds(Arrays.stream(ids).boxed().toList())
+                .stream()
+                .collect(Collectors.toMap(FeedPostDto::getId, Function.identity()));
+        List<FeedPostDto> posts = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            FeedPostDto post = byId.get(id);
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+
+    /**
+     * Renseigne le nombre de commentaires (et éventuellement le dernier commentaire) des posts d'une page,
+     * avec une requête groupée pour toute la page au lieu d'une requête par post.
+     *
+     * @param posts les posts de la page
+     * @param idGetter l'accesseur de l'identifiant du post
+     * @param countSetter le modificateur du nombre de commentaires
+     * @param latestSetter le modificateur du dernier commentaire
+     * @param withLatestComment true pour charger aussi le dernier commentaire de chaque post
+     */
+    private <T> void attachCommentStats(List<T> posts, Function<T, Long> idGetter, BiConsumer<T, Long> countSetter,
+                                        BiConsumer<T, CommentDto> latestSetter, boolean withLatestComment) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        List<Long> postIds = posts.stream().map(idGetter).collect(Collectors.toList());
+        Map<Long, Long> counts = commentService.countCommentsByPostIds(postIds);
+        Map<Long, CommentDto> latest = withLatestComment
+                ? commentService.getLatestCommentsByPostIds(postIds)
+                : Map.of();
+        for (T post : posts) {
+            Long postId = idGetter.apply(post);
+            countSetter.accept(post, counts.getOrDefault(postId, 0L));
+            latestSetter.accept(post, latest.get(postId));
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.SearchHitDto;
+import com.openclassrooms.mddapi.repositories.CommentRepository;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service de recherche plein texte sur les posts (titre et contenu) et les commentaires,
+ * adossé à un index Lucene embarqué sur disque (ou en mémoire si aucun répertoire n'est configuré).
+ * L'index est mis à jour à chaque création de post ou de commentaire ; les écritures deviennent visibles
+ * à la recherche au plus tard après refresh-interval et sont rendues durables toutes les commit-interval.
+ * Il est reconstruit depuis la base au démarrage s'il est vide, si une reconstruction a été interrompue,
+ * ou sur demande avec rebuild-on-startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchService implements ISearchService {
+
+    private static final int EXCERPT_LENGTH = 200;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final float TITLE_BOOST = 2f;
+
+    /**
+     * Profondeur maximale de pagination : au-delà, la recherche doit être affinée.
+     */
+    private static final int MAX_OFFSET = 1000;
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String POST_ID = "postId";
+    private static final String COMMENT_ID = "commentId";
+    private static final String SUBJECT_ID = "subjectId";
+    private static final String TITLE = "title";
+    private static final String POST_TITLE = "postTitle";
+    private static final String TEXT = "text";
+    private static final String EXCERPT = "excerpt";
+
+    /**
+     * Clé des données de commit marquant une reconstruction en cours : un index commité avec ce marqueur
+     * est partiel et sera reconstruit au prochain démarrage.
+     */
+    private static final String REBUILD_IN_PROGRESS = "rebuildInProgress";
+
+    private final PostRepository postRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final Analyzer analyzer = new FrenchAnalyzer();
+
+    @Value("${mddapi.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mddapi.search.directory:}")
+    private String directoryPath;
+
+    @Value("${mddapi.search.refresh-interval:1s}")
+    private Duration refreshInterval;
+
+    @Value("${mddapi.search.commit-interval:30s}")
+    private Duration commitInterval;
+
+    @Value("${mddapi.search.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private Directory directory;
+
+    private IndexWriter writer;
+
+    private SearcherManager searcherManager;
+
+    private ScheduledExecutorService maintenance;
+
+    /**
+     * Verrou en écriture tenu pendant toute la reconstruction ; les rafraîchissements et commits prennent
+     * le verrou en lecture et sont sautés s'ils ne l'obtiennent pas, pour que l'index partiel ne soit
+     * ni visible ni rendu durable.
+     */
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    /**
+     * Ouvre l'index et planifie son rafraîchissement et ses commits sur un thread dédié.
+     */
+    @PostConstruct
+    protected void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        directory = directoryPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(directoryPath));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::refresh,
+                refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::commit,
+                commitInterval.toMillis(), commitInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reconstruit l'index au démarrage s'il est vide, si la dernière reconstruction n'a pas abouti
+     * ou si rebuild-on-startup est activé.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() {
+        if (enabled && (rebuildOnStartup || writer.getDocStats().numDocs == 0 || isRebuildInterrupted())) {
+            rebuild();
+        }
+    }
+
+    private boolean isRebuildInterrupted() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (REBUILD_IN_PROGRESS.equals(entry.getKey())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ferme l'index ; la fermeture de l'IndexWriter rend les dernières écritures durables.
+     * Le thread de maintenance n'est pas interrompu : une interruption pendant une écriture ferme le canal
+     * du fichier et rend l'IndexWriter inutilisable.
+     */
+    @PreDestroy
+    protected void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        maintenance.shutdown();
+        try {
+            maintenance.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Recherche les posts et commentaires contenant tous les termes du texte, classés par pertinence.
+     * Le texte accepte la syntaxe simple de Lucene : "phrase exacte", -exclusion, préfixe*.
+     *
+     * @param text le texte recherché
+     * @param subjectId l'identifiant du thème auquel restreindre la recherche, ou null
+     * @param cursor le jeton de continuation renvoyé par la page précédente, ou null pour la première page
+     * @param size le nombre de résultats souhaité, borné par PageDto.MAX_PAGE_SIZE
+     * @return une page de résultats, avec le jeton de la page suivante s'il y en a une
+     * @throws AppException 400 si le texte est vide ou le curseur invalide, 503 si la recherche est désactivée
+     */
+    public PageDto<SearchHitDto> search(String text, Long subjectId, String cursor, Integer size) {
+        if (!enabled) {
+            throw new AppException("Search is disabled", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (text == null || text.isBlank()) {
+            throw new AppException("A search text is required", HttpStatus.BAD_REQUEST);
+        }
+        int offset = offset(cursor);
+        int pageSize = PageDto.boundedSize(size);
+
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(TITLE, TITLE_BOOST, TEXT, 1f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(parser.parse(text), BooleanClause.Occur.MUST);
+        if (subjectId != null) {
+            query.add(new TermQuery(new Term(SUBJECT_ID, subjectId.toString())), BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = acquire();
+        try {
+            TopDocs top = searcher.search(query.build(), offset + pageSize + 1);
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHitDto> hits = new ArrayList<>(pageSize);
+            for (int i = offset; i < Math.min(top.scoreDocs.length, offset + pageSize); i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+            }
+            return PageDto.<SearchHitDto>builder()
+                    .content(hits)
+                    .size(hits.size())
+                    .nextCursor(top.scoreDocs.length > offset + pageSize ? String.valueOf(offset + pageSize) : null)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Indexe un post créé. Un échec d'indexation n'empêche pas la création : le post sera indexé
+     * à la prochaine reconstruction.
+     *
+     * @param postId l'identifiant du post
+     * @param subjectId l'identifiant de son thème
+     * @param title son titre
+     * @param description son contenu
+     */
+    public void onPostCreated(Long postId, Long subjectId, String title, String description) {
+        if (!enabled) {
+            return;
+        }
+        Document document = new Document();
+        document.add(new StringField(KEY, SearchHitDto.POST + ":" + postId, Field.Store.NO));
+        document.add(new StringField(TYPE, SearchHitDto.POST, Field.Store.YES));
+        document.add(new StoredField(POST_ID, postId));
+        document.add(new StringField(SUBJECT_ID, subjectId.toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(title), Field.Store.NO));
+        document.add(new StoredField(POST_TITLE, nullToEmpty(title)));
+        document.add(new TextField(TEXT, nullToEmpty(description), Field.Store.NO));
+        document.add(new StoredField(EXCERPT, excerpt(description)));
+        update(document, SearchHitDto.POST + ":" + postId);
+    }
+
+    /**
+     * Indexe un commentaire ajouté. Le titre et le thème de son post sont lus dans l'index plutôt qu'en base.
+     *
+     * @param commentId l'identifiant du commentaire
+     * @param postId l'identifiant de son post
+     * @param description son contenu
+     */
+    public void onCommentAdded(Long commentId, Long postId, String description) {
+        if (!enabled) {
+            return;
+        }
+        Document post = findPost(postId);
+        if (post == null) {
+            // Le post vient peut-être d'être indexé : rendre visibles les dernières écritures avant de conclure
+            refreshBlocking();
+            post = findPost(postId);
+        }
+        indexComment(commentId, postId, description,
+                post != null ? post.get(POST_TITLE) : null, post != null ? post.get(SUBJECT_ID) : null);
+    }
+
+    /**
+     * Reconstruit l'index depuis la base, par pages de posts puis de commentaires lues dans l'ordre des identifiants.
+     * Les recherches continuent d'être servies par l'index précédent jusqu'à la fin de la reconstruction :
+     * les rafraîchissements et commits périodiques sont suspendus pendant qu'elle s'exécute. Le marqueur
+     * commité au début n'est retiré qu'avec le commit final ; un index partiel rendu durable par un arrêt
+     * pendant la reconstruction est donc reconstruit au démarrage suivant.
+     *
+     * @return le nombre de documents indexés
+     */
+    public long rebuild() {
+        if (!enabled) {
+            throw new AppException("Search is disabled", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        long count = 0;
+        rebuildLock.writeLock().lock();
+        try {
+            writer.setLiveCommitData(Map.of(REBUILD_IN_PROGRESS, "true").entrySet());
+            writer.commit();
+            writer.deleteAll();
+            long afterId = 0;
+            List<PostRepository.SearchDocument> posts;
+            do {
+                posts = postRepository.findSearchDocumentsAfter(afterId, PageRequest.ofSize(REBUILD_PAGE_SIZE));
+                for (PostRepository.SearchDocument post : posts) {
+                    onPostCreated(post.getId(), post.getThemeId(), post.getTitle(), post.getDescription());
+                    afterId = post.getId();
+                }
+                count += posts.size();
+            } while (posts.size() == REBUILD_PAGE_SIZE);
+
+            afterId = 0;
+            List<CommentRepository.SearchDocument> comments;
+            do {
+                comments = commentRepository.findSearchDocumentsAfter(afterId, PageRequest.ofSize(REBUILD_PAGE_SIZE));
+                for (CommentRepository.SearchDocument comment : comments) {
+                    indexComment(comment.getId(), comment.getPostId(), comment.getDescription(),
+                            comment.getPostTitle(), comment.getThemeId().toString());
+                    afterId = comment.getId();
+                }
+                count += comments.size();
+            } while (comments.size() == REBUILD_PAGE_SIZE);
+
+            writer.setLiveCommitData(Map.<String, String>of().entrySet());
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        log.info("Search index rebuilt with {} documents", count);
+        return count;
+    }
+
+    private void indexComment(Long commentId, Long postId, String description, String postTitle, String subjectId) {
+        Document document = new Document();
+        document.add(new StringField(KEY, SearchHitDto.COMMENT + ":" + commentId, Field.Store.NO));
+        document.add(new StringField(TYPE, SearchHitDto.COMMENT, Field.Store.YES));
+        document.add(new StoredField(POST_ID, postId));
+        document.add(new StoredField(COMMENT_ID, commentId));
+        if (subjectId != null) {
+            document.add(new StringField(SUBJECT_ID, subjectId, Field.Store.YES));
+        }
+        if (postTitle != null) {
+            document.add(new StoredField(POST_TITLE, postTitle));
+        }
+        document.add(new TextField(TEXT, nullToEmpty(description), Field.Store.NO));
+        document.add(new StoredField(EXCERPT, excerpt(description)));
+        update(document, SearchHitDto.COMMENT + ":" + commentId);
+    }
+
+    private void update(Document document, String key) {
+        try {
+            writer.updateDocument(new Term(KEY, key), document);
+        } catch (IOException e) {
+            log.warn("Unable to index {}", key, e);
+        }
+    }
+
+    private Document findPost(Long postId) {
+        IndexSearcher searcher = acquire();
+        try {
+            TopDocs top = searcher.search(new TermQuery(new Term(KEY, SearchHitDto.POST + ":" + postId)), 1);
+            return top.scoreDocs.length == 0 ? null : searcher.storedFields().document(top.scoreDocs[0].doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    private static SearchHitDto toHit(Document document, float score) {
+        IndexableField commentId = document.getField(COMMENT_ID);
+        String subjectId = document.get(SUBJECT_ID);
+        return SearchHitDto.builder()
+                .type(document.get(TYPE))
+                .postId(document.getField(POST_ID).numericValue().longValue())
+                .commentId(commentId != null ? commentId.numericValue().longValue() : null)
+                .subjectId(subjectId != null ? Long.valueOf(subjectId) : null)
+                .title(document.get(POST_TITLE))
+                .excerpt(document.get(EXCERPT))
+                .score(score)
+                .build();
+    }
+
+    private static int offset(String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset >= 0 && offset <= MAX_OFFSET) {
+                return offset;
+            }
+        } catch (NumberFormatException e) {
+            // traité ci-dessous
+        }
+        throw new AppException("Invalid cursor", HttpStatus.BAD_REQUEST);
+    }
+
+    private static String excerpt(String text) {
+        String value = nullToEmpty(text);
+        return value.length() <= EXCERPT_LENGTH ? value : value.substring(0, EXCERPT_LENGTH) + "…";
+    }
+
+    private static String nullToEmpty(String text) {
+        return text == null ? "" : text;
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Unable to release index searcher", e);
+        }
+    }
+
+    private void refresh() {
+        if (!rebuildLock.readLock().tryLock()) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to refresh search index", e);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void refreshBlocking() {
+        if (!rebuildLock.readLock().tryLock()) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.warn("Unable to refresh search index", e);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void commit() {
+        if (!rebuildLock.readLock().tryLock()) {
+            return;
+        }
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to commit search index", e);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.configuration.CacheConfig;
+import com.openclassrooms.mddapi.mapper.SubjectMapper;
+import com.openclassrooms.mddapi.model.Watermark;
+import com.openclassrooms.mddapi.model.dtos.SubjectDto;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+/**
+ * Service fournissant des opérations de gestion des thèmes.
+ * Gère la récupération, la mise à jour des thèmes.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class SubjectService implements ISubjectService {
+
+    private final SubjectRepository subjectRepository;
+
+    private final UserRepository userRepository;
+
+    private final SubjectMapper subjectMapper;
+
+
+    /**
+     * Récupère tous les thèmes de la base de données.
+     * Le résultat est mis en cache : la liste des thèmes change rarement.
+     *
+     * @param subjectDto l'objet de transfert de données contenant les critères de récupération des thèmes
+     * @return une liste de SubjectDto
+     */
+    @Cacheable(cacheNames = CacheConfig.SUBJECTS, key = "'all'")
+    public List<SubjectDto> getSubject(SubjectDto subjectDto) {
+        Iterable<Subject> subjects = subjectRepository.findAll();
+
+        List<Subject> result = StreamSupport.stream(subjects.spliterator(), false)
+                .collect(Collectors.toList());
+    
+        return subjectMapper.toDto(result);
+    }
+
+    /**
+     * Récupère les thèmes auxquels un utilisateur est abonné, chargés avec l'utilisateur en une seule requête.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return la liste des thèmes de l'utilisateur
+     */
+    public List<SubjectDto> getSubjectsForUser(Long userId) {
+        UserEntity user = userRepository.findWithSubjectsById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        return subjectMapper.toDto(new ArrayList<>(user.getSubjects()));
+    }
+
+    /**
+     * Calcule en une seule requête d'agrégat les validateurs de la liste des thèmes,
+     * à partir de leur nombre et de la somme de leurs versions.
+     *
+     * @return l'ETag et la date de dernière modification de la liste des thèmes
+     */
+    public Watermark getSubjectsWatermark() {
+        SubjectRepository.SubjectsWatermark versions = subjectRepository.findWatermark();
+        return Watermark.of("subjects", versions.getSubjectCount(), versions.getVersion())
+                .modifiedAt(versions.getUpdatedAt());
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.configuration.CacheConfig;
+import com.openclassrooms.mddapi.model.SubscriptionId;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.repositories.SubscriptionRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Set;
+
+/**
+ * Service fournissant la gestion des abonnements des utilisateurs aux sujets.
+ * Gère l'ajout et la suppression des abonnements entre les utilisateurs et les sujets.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class SubscriptionService implements ISubscriptionService{
+
+    private final SubscriptionRepository subscriptionRepository;
+
+    private final UserRepository userRepository;
+
+    private final ITimelineService timelineService;
+
+    private final IEventService eventService;
+
+    /**
+     * Abonne un utilisateur à un thème par une seule insertion, sans lecture préalable.
+     * Les cas d'erreur ne sont distingués qu'après une violation de contrainte.
+     *
+     * @param userId l'identifiant de l'utilisateur à abonner.
+     * @param subjectId l'identifiant du thème auquel l'utilisateur s'abonne
+     * @throws AppException 409 si l'abonnement existe déjà, 404 si l'utilisateur ou le thème n'existe pas
+     */
+
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public void subscribeUserToSubject(Long userId, Long subjectId) {
+        try {
+            subscriptionRepository.insert(userId, subjectId);
+        } catch (DataIntegrityViolationException e) {
+            if (subscriptionRepository.existsById(new SubscriptionId(userId, subjectId))) {
+                throw new AppException("Subscription already exists for given user and subject", HttpStatus.CONFLICT);
+            }
+            throw new AppException("User or subject not found", HttpStatus.NOT_FOUND);
+        }
+        touchFeed(userId);
+        timelineService.onSubscribed(userId, subjectId);
+        eventService.onSubscribed(userId, subjectId);
+    }
+
+    /**
+     *Désabonne un utilisateur d'un thème, par une seule suppression.
+     * @param userId l'identifiant de l'utilisateur à désabonner.
+     * @param subjectId  l'identifiant du thème dont l'utilisateur se désabonne.
+     * @throws AppException 404 si l'abonnement n'existe pas.
+     */
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public void unsubscribeUserFromSubject(Long userId, Long subjectId) {
+        if (subscriptionRepository.delete(userId, subjectId) == 0) {
+            throw new AppException("Subscription not found", HttpStatus.NOT_FOUND);
+        }
+        touchFeed(userId);
+        timelineService.onUnsubscribed(userId, subjectId);
+        eventService.onUnsubscribed(userId, subjectId);
+    }
+
+    /**
+     * Abonne un utilisateur à plusieurs thèmes en une seule transaction et un seul lot d'insertions.
+     * L'opération est idempotente : les abonnements déjà présents sont ignorés.
+     *
+     * @param userId l'identifiant de l'utilisateur à abonner
+     * @param subjectIds les identifiants des thèmes, au plus {@link PageDto#MAX_PAGE_SIZE}
+     * @throws AppException 400 si la liste est vide ou trop longue, 404 si l'utilisateur ou l'un des thèmes n'existe pas
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public void subscribeUserToSubjects(Long userId, Set<Long> subjectIds) {
+        checkBulkSize(subjectIds);
+        try {
+            subscriptionRepository.insertAll(userId, subjectIds);
+        } catch (DataIntegrityViolationException e) {
+            throw new AppException("User or subject not found", HttpStatus.NOT_FOUND);
+        }
+        touchFeed(userId);
+        timelineService.onSubscriptionsChanged(userId);
+        subjectIds.forEach(subjectId -> eventService.onSubscribed(userId, subjectId));
+    }
+
+    /**
+     * Désabonne un utilisateur de plusieurs thèmes en une seule suppression.
+     * L'opération est idempotente : les thèmes auxquels l'utilisateur n'est pas abonné sont ignorés.
+     *
+     * @param userId l'identifiant de l'utilisateur à désabonner
+     * @param subjectIds les identifiants des thèmes, au plus {@link PageDto#MAX_PAGE_SIZE}
+     * @throws AppException 400 si la liste est vide ou trop longue
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public void unsubscribeUserFromSubjects(Long userId, Set<Long> subjectIds) {
+        checkBulkSize(subjectIds);
+        if (subscriptionRepository.deleteAllForUser(userId, subjectIds) > 0) {
+            touchFeed(userId);
+        }
+        timelineService.onSubscriptionsChanged(userId);
+        subjectIds.forEach(subjectId -> eventService.onUnsubscribed(userId, subjectId));
+    }
+
+    /**
+     * Avance le filigrane du fil de l'utilisateur, après l'écriture de ses abonnements :
+     * un ETag ne désigne ainsi jamais un fil calculé sur d'anciens abonnements.
+     */
+    private void touchFeed(Long userId) {
+        userRepository.touchFeed(userId, new Timestamp(System.currentTimeMillis()));
+    }
+
+    private void checkBulkSize(Set<Long> subjectIds) {
+        if (subjectIds == null || subjectIds.isEmpty() || subjectIds.size() > PageDto.MAX_PAGE_SIZE
+                || subjectIds.contains(null)) {
+            throw new AppException("Between 1 and " + PageDto.MAX_PAGE_SIZE + " subject ids are required", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
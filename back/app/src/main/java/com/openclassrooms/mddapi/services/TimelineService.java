@@ -0,0 +1,339 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.model.FeedCursor;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubscriptionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service maintenant en mémoire le fil d'actualité matérialisé de chaque utilisateur (fan-out à l'écriture).
+ * Chaque fil est une liste bornée d'identifiants de posts, triée par (date, id) décroissants et stockée
+ * dans des tableaux de long. Le nombre de fils est borné : les moins récemment lus sont évincés.
+ * Un fil n'est construit qu'à la première lecture ; les écritures ne mettent à jour que les fils déjà chargés.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class TimelineService implements ITimelineService {
+
+    private final PostRepository postRepository;
+
+    private final SubscriptionRepository subscriptionRepository;
+
+    @Value("${mddapi.timeline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${mddapi.timeline.capacity:200}")
+    private int capacity;
+
+    @Value("${mddapi.timeline.max-users:5000}")
+    private int maxUsers;
+
+    private Map<Long, Timeline> timelines;
+
+    /**
+     * Incrémenté à chaque écriture : permet d'écarter un fil construit pendant une écriture concurrente.
+     */
+    private long generation;
+
+    /**
+     * Initialise le cache LRU des fils, borné à maxUsers entrées.
+     */
+    @PostConstruct
+    protected void init() {
+        timelines = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Timeline> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Renvoie les identifiants des posts d'une page du fil d'un utilisateur, construisant le fil si besoin.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param after le curseur de la page précédente, ou null pour la première page
+     * @param limit le nombre maximum d'identifiants à renvoyer
+     * @return les identifiants des posts dans l'ordre du fil, ou null si le fil en mémoire
+     * ne suffit pas à servir la page et qu'il faut interroger la base
+     */
+    public long[] getPage(Long userId, FeedCursor after, int limit) {
+        if (!enabled) {
+            return null;
+        }
+        Timeline timeline = timelines.get(userId);
+        if (timeline == null) {
+            timeline = load(userId);
+        }
+        return timeline.page(after, limit);
+    }
+
+    /**
+     * Ajoute un nouveau post en tête des fils déjà chargés des abonnés de son thème.
+     *
+     * @param postId l'identifiant du post créé
+     * @param subjectId l'identifiant du thème du post
+     * @param date la date du post en millisecondes
+     */
+    public void onPostCreated(Long postId, Long subjectId, long date) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> subscriberIds = subscriptionRepository.findUserIdsBySubjectId(subjectId);
+        synchronized (timelines) {
+            generation++;
+            for (Long subscriberId : subscriberIds) {
+                Timeline timeline = timelines.get(subscriberId);
+                if (timeline != null) {
+                    timeline.insert(date, postId, subjectId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Complète le fil chargé d'un utilisateur avec les posts récents d'un thème auquel il vient de s'abonner.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param subjectId l'identifiant du thème
+     */
+    public void onSubscribed(Long userId, Long subjectId) {
+        if (!enabled) {
+            return;
+        }
+        List<PostRepository.TimelineEntry> entries =
+                postRepository.findTimelineByThemeId(subjectId, PageRequest.ofSize(capacity + 1));
+        Timeline backfill = Timeline.of(entries, capacity);
+        synchronized (timelines) {
+            generation++;
+            Timeline timeline = timelines.get(userId);
+            if (timeline != null) {
+                timelines.put(userId, timeline.merge(backfill, capacity));
+            }
+        }
+    }
+
+    /**
+     * Retire du fil chargé d'un utilisateur les posts d'un thème dont il vient de se désabonner.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param subjectId l'identifiant du thème
+     */
+    public void onUnsubscribed(Long userId, Long subjectId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (timelines) {
+            generation++;
+            Timeline timeline = timelines.get(userId);
+            if (timeline != null) {
+                timeline.removeSubject(subjectId);
+            }
+        }
+    }
+
+    /**
+     * Évince le fil chargé d'un utilisateur dont les abonnements ont changé en bloc :
+     * il sera reconstruit en une requête à la prochaine lecture, plutôt que complété thème par thème.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     */
+    public void onSubscriptionsChanged(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (timelines) {
+            generation++;
+            timelines.remove(userId);
+        }
+    }
+
+    /**
+     * Évince tous les fils chargés après un import en masse : ils seront reconstruits à la prochaine lecture,
+     * plutôt que de diffuser chaque post importé à ses abonnés.
+     */
+    public void onPostsImported() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (timelines) {
+            generation++;
+            timelines.clear();
+        }
+    }
+
+    private Timeline load(Long userId) {
+        long startGeneration;
+        synchronized (timelines) {
+            startGeneration = generation;
+        }
+        List<PostRepository.TimelineEntry> entries =
+                postRepository.findSubscribedTimeline(userId, PageRequest.ofSize(capacity + 1));
+        Timeline timeline = Timeline.of(entries, capacity);
+        synchronized (timelines) {
+            if (generation == startGeneration) {
+                timelines.putIfAbsent(userId, timeline);
+            }
+        }
+        return timeline;
+    }
+
+    /**
+     * Fil d'un utilisateur : trois tableaux parallèles triés par (date, id) décroissants.
+     * truncated indique que des posts plus anciens que la dernière entrée ont pu être écartés.
+     */
+    static final class Timeline {
+        private long[] dates;
+        private long[] postIds;
+        private long[] subjectIds;
+        private int size;
+        private boolean truncated;
+        private final int capacity;
+
+        private Timeline(int initialSize, int capacity) {
+            this.dates = new long[initialSize];
+            this.postIds = new long[initialSize];
+            this.subjectIds = new long[initialSize];
+            this.capacity = capacity;
+        }
+
+        static Timeline of(List<PostRepository.TimelineEntry> entries, int capacity) {
+            int count = Math.min(entries.size(), capacity);
+            Timeline timeline = new Timeline(count, capacity);
+            for (int i = 0; i < count; i++) {
+                PostRepository.TimelineEntry entry = entries.get(i);
+                timeline.dates[i] = entry.getDate().getTime();
+                timeline.postIds[i] = entry.getId();
+                timeline.subjectIds[i] = entry.getThemeId();
+            }
+            timeline.size = count;
+            timeline.truncated = entries.size() > capacity;
+            return timeline;
+        }
+
+        synchronized long[] page(FeedCursor after, int limit) {
+            int start = after == null ? 0 : indexAfter(after.getDate().getTime(), after.getId());
+            int available = size - start;
+            if (available < limit && truncated) {
+                return null;
+            }
+            return Arrays.copyOfRange(postIds, start, start + Math.min(limit, available));
+        }
+
+        synchronized void insert(long date, long postId, long subjectId) {
+            int index = indexAfter(date, postId);
+            if (index > 0 && postIds[index - 1] == postId) {
+                return;
+            }
+            if (index == capacity) {
+                truncated = true;
+                return;
+            }
+            if (size == dates.length) {
+                grow();
+            }
+            int moved = Math.min(size, capacity - 1) - index;
+            System.arraycopy(dates, index, dates, index + 1, moved);
+            System.arraycopy(postIds, index, postIds, index + 1, moved);
+            System.arraycopy(subjectIds, index, subjectIds, index + 1, moved);
+            dates[index] = date;
+            postIds[index] = postId;
+            subjectIds[index] = subjectId;
+            if (size == capacity) {
+                truncated = true;
+            } else {
+                size++;
+            }
+        }
+
+        synchronized void removeSubject(long subjectId) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (subjectIds[i] != subjectId) {
+                    dates[kept] = dates[i];
+                    postIds[kept] = postIds[i];
+                    subjectIds[kept] = subjectIds[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * Fusionne deux fils. Le résultat est coupé à la plus récente des bornes des fils tronqués,
+         * de sorte qu'il contienne toujours tous les posts plus récents que sa dernière entrée.
+         */
+        synchronized Timeline merge(Timeline other, int capacity) {
+            Timeline merged = new Timeline(Math.min(size + other.size, capacity), capacity);
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (n < capacity && (i < size || j < other.size)) {
+                boolean takeThis = j >= other.size
+                        || (i < size && isNewer(dates[i], postIds[i], other.dates[j], other.postIds[j]));
+                long date = takeThis ? dates[i] : other.dates[j];
+                long postId = takeThis ? postIds[i] : other.postIds[j];
+                long subjectId = takeThis ? subjectIds[i++] : other.subjectIds[j++];
+                if ((truncated && size > 0 && isNewer(dates[size - 1], postIds[size - 1], date, postId))
+                        || (other.truncated && other.size > 0
+                        && isNewer(other.dates[other.size - 1], other.postIds[other.size - 1], date, postId))) {
+                    merged.truncated = true;
+                    break;
+                }
+                if (n > 0 && merged.postIds[n - 1] == postId) {
+                    continue;
+                }
+                merged.dates[n] = date;
+                merged.postIds[n] = postId;
+                merged.subjectIds[n] = subjectId;
+                n++;
+            }
+            merged.size = n;
+            merged.truncated |= truncated || other.truncated || i < size || j < other.size;
+            return merged;
+        }
+
+        /**
+         * Renvoie l'index de la première entrée strictement plus ancienne que (date, postId).
+         */
+        private int indexAfter(long date, long postId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isNewer(dates[mid], postIds[mid], date, postId) || postIds[mid] == postId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void grow() {
+            int length = Math.min(Math.max(dates.length * 2, 8), capacity);
+            dates = Arrays.copyOf(dates, length);
+            postIds = Arrays.copyOf(postIds, length);
+            subjectIds = Arrays.copyOf(subjectIds, length);
+        }
+
+        private static boolean isNewer(long date, long postId, long otherDate, long otherPostId) {
+            return date > otherDate || (date == otherDate && postId > otherPostId);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.configuration.CacheConfig;
+import com.openclassrooms.mddapi.mapper.UserMapper;
+import com.openclassrooms.mddapi.model.dtos.CredentialsDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.PasswordChangeDto;
+import com.openclassrooms.mddapi.model.dtos.SignUpDto;
+import com.openclassrooms.mddapi.model.dtos.UpdateUserDto;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.dtos.UserSummaryDto;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.CharBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Classe de service pour la gestion des utilisateurs.
+ *Fournit des méthodes pour l'inscription, la connexion, la récuperation et la mise à jour des données des utilisateurs.
+ */
+
+@Slf4j
+@Data
+@Service
+@RequiredArgsConstructor
+public class UserService implements IUserService{
+    private static final int MAX_USER_NAME_LENGTH = 50;
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final SubjectRepository subjectRepository;
+    private final UserMapper userMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final CacheManager cacheManager;
+
+    /**
+     * Enregistrer un nouvel utilisateur dans la base de données.
+     * L'unicité de l'email est garantie par l'index unique sur l'email normalisé, sans lecture préalable.
+     *
+     * @param signUpDto l'objet de transfert de données contenant les informations de l'inscription
+     * @return l'objet de transfert de données représentant l'utilisateur enregistré.
+     * @throws  AppException si un utilisateur avec le même email existe déjà, ou si la base refuse l'utilisateur.
+     */
+    public UserDto register(SignUpDto signUpDto){
+        UserEntity user = userMapper.signUpToUser(signUpDto);
+        user.setPassword(passwordEncoder.encode(CharBuffer.wrap(signUpDto.password())));
+
+        UserEntity savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailTaken(e)) {
+                throw new AppException("User already exists", HttpStatus.BAD_REQUEST);
+            }
+            log.warn("Registration rejected by the database: {}", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            throw new AppException("Invalid user", HttpStatus.BAD_REQUEST);
+        }
+        log.info("User {} registered", savedUser.getId());
+        return userMapper.toDto(savedUser);
+    }
+
+    /**
+     * Authentifie un utilisateur et permet sa connexion
+     * Seuls l'identifiant, le nom, l'email et le hash sont lus, par l'index unique sur l'email normalisé.
+     *
+     * @param credentialsDto l'objet de transfert de données contenant les identifiants de connexion.
+     * @return l'objet de transfert de données représentant l'utilisateur connecté.
+     * @throws AppException si l'adresse email n'existe pas ou le mot de passe est incorrect.
+     * */
+    public UserDto login(CredentialsDto credentialsDto){
+        UserRepository.Credentials user = userRepository
+                .findCredentialsByEmailNormalized(UserEntity.normalizeEmail(credentialsDto.email()))
+                .orElseThrow(() -> new AppException("Unkown user", HttpStatus.NOT_FOUND));
+        if (passwordEncoder.matches(CharBuffer.wrap(credentialsDto.password()),
+                user.getPassword())) {
+            return userMapper.toDto(user);
+        }
+        throw new AppException("Invalide password",HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Récupère un utilisateur par son identifiant.
+     * L'utilisateur et ses abonnements sont chargés en une seule requête (graphe UserEntity.subjects).
+     * Le profil est mis en cache jusqu'à sa prochaine modification ou celle de ses abonnements.
+     *
+     * @param id l'identifiant de l'utilisateur à récupérer
+     * @return l'objet de transfert de données représentant l'utilisateur.
+     * @throws EntityNotFoundException si l'utilisateur n'est pas trouvé.
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
+    public UserDto getUser(final Long id) {
+        UserEntity userEntity = userRepository.findWithSubjectsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("UserEntity not found for id: " + id));
+
+        return userMapper.toDto(userEntity, new ArrayList<>(userEntity.getSubjects()));
+    }
+
+    /**
+     * Récupère en une seule requête le résumé (identifiant et nom) de plusieurs utilisateurs.
+     *
+     * @param ids les identifiants des utilisateurs, au plus {@link PageDto#MAX_PAGE_SIZE}
+     * @return les résumés des utilisateurs trouvés, les identifiants inconnus étant ignorés.
+     * @throws AppException si la liste est vide ou dépasse la taille maximum.
+     */
+    public List<UserSummaryDto> getUserSummaries(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > PageDto.MAX_PAGE_SIZE) {
+            throw new AppException("Between 1 and " + PageDto.MAX_PAGE_SIZE + " user ids are required", HttpStatus.BAD_REQUEST);
+        }
+        return userRepository.findSummariesByIdIn(new HashSet<>(ids));
+    }
+
+    /**
+     * Met à jour partiellement le profil d'un utilisateur : seuls les champs renseignés sont modifiés.
+     * Le mot de passe n'est jamais modifié ici, voir {@link #changePassword(Long, PasswordChangeDto)}.
+     * Un changement de nom avance les versions des posts et les filigranes des fils qui l'affichent.
+     *
+     * @param id l'identifiant de l'utilisateur à mettre à jour
+     * @param updateUserDto l'objet de transfert de données contenant les champs du profil à modifier.
+     * @return l'objet de transfert de données représentant l'utilisateur à jour.
+     *  @throws EntityNotFoundException si l'utilisateur n'est pas trouvé
+     *  @throws AppException si un champ renseigné est vide ou invalide, ou si le nouvel email est déjà utilisé
+     *  par un autre utilisateur.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
+    public UserDto updateUser(Long id, UpdateUserDto updateUserDto) {
+        validate(updateUserDto);
+        UserEntity existingUserEntity = userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("UserEntity not found for id: " + id));
+
+        if (updateUserDto.email() != null) {
+            existingUserEntity.setEmail(updateUserDto.email());
+        }
+        boolean renamed = updateUserDto.userName() != null
+                && !updateUserDto.userName().equals(existingUserEntity.getUserName());
+        if (renamed) {
+            existingUserEntity.setUserName(updateUserDto.userName());
+        }
+
+        UserEntity updatedUserEntity;
+        try {
+            updatedUserEntity = userRepository.saveAndFlush(existingUserEntity);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailTaken(e)) {
+                throw new AppException("Email already in use", HttpStatus.BAD_REQUEST);
+            }
+            log.warn("Update of user {} rejected by the database: {}", id, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            throw new AppException("Invalid user", HttpStatus.BAD_REQUEST);
+        }
+        if (renamed) {
+            // Le nom est repris dans les posts, les commentaires et les fils : leurs ETags doivent changer
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            postRepository.touchPostsOfAuthor(id, now);
+            subjectRepository.touchFeedsOfAuthor(id, now);
+        }
+        return userMapper.toDto(updatedUserEntity);
+    }
+
+    /**
+     * Indique si la violation vient de l'index unique sur l'email normalisé ; les autres violations
+     * (colonne trop longue, valeur manquante...) ne doivent pas être présentées comme un doublon.
+     */
+    private static boolean isEmailTaken(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(UserEntity.EMAIL_NORMALIZED_UNIQUE);
+    }
+
+    private static void validate(UpdateUserDto updateUserDto) {
+        String userName = updateUserDto.userName();
+        if (userName != null && (userName.isBlank() || userName.length() > MAX_USER_NAME_LENGTH)) {
+            throw new AppException("User name must be between 1 and " + MAX_USER_NAME_LENGTH + " characters",
+                    HttpStatus.BAD_REQUEST);
+        }
+        String email = updateUserDto.email();
+        if (email != null && (email.length() > MAX_EMAIL_LENGTH || !EMAIL.matcher(email).matches())) {
+            throw new AppException("Invalid email", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Change le mot de passe d'un utilisateur après vérification du mot de passe actuel.
+     *
+     * @param id l'identifiant de l'utilisateur
+     * @param passwordChangeDto le mot de passe actuel et le nouveau mot de passe
+     * @throws EntityNotFoundException si l'utilisateur n'est pas trouvé
+     * @throws AppException si le nouveau mot de passe est vide ou si le mot de passe actuel est incorrect.
+     */
+    @Transactional
+    public void changePassword(Long id, PasswordChangeDto passwordChangeDto) {
+        if (passwordChangeDto.newPassword() == null || passwordChangeDto.newPassword().isBlank()) {
+            throw new AppException("New password is required", HttpStatus.BAD_REQUEST);
+        }
+        UserEntity existingUserEntity = userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("UserEntity not found for id: " + id));
+        if (passwordChangeDto.currentPassword() == null
+                || !passwordEncoder.matches(CharBuffer.wrap(passwordChangeDto.currentPassword()), existingUserEntity.getPassword())) {
+            throw new AppException("Invalide password", HttpStatus.BAD_REQUEST);
+        }
+
+        existingUserEntity.setPassword(passwordEncoder.encode(CharBuffer.wrap(passwordChangeDto.newPassword())));
+        userRepository.save(existingUserEntity);
+    }
+
+    /**
+     * Renvoie le nom à jour d'un utilisateur : depuis son profil en cache, évincé à chaque modification,
+     * sinon par une lecture de la seule colonne du nom sur la clé primaire.
+     *
+     * @param id l'identifiant de l'utilisateur
+     * @return le nom de l'utilisateur, ou null s'il n'existe pas
+     */
+    public String getUserName(Long id) {
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+        UserDto cached = users != null ? users.get(id, UserDto.class) : null;
+        if (cached != null) {
+            return cached.getUserName();
+        }
+        return userRepository.findUserNameById(id).orElse(null);
+    }
+
+    public UserDto getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+
+        UserDto userDto = (UserDto) authentication.getPrincipal();
+        return userDto;
+    }
+}
+
+
+
+
@@ -1,20 +1,23 @@
---User
+-- Schema initial, repris de l'ancien front/script.sql.
+-- Les bases existantes creees avec ce script sont marquees a cette version (spring.flyway.baseline-on-migrate).
+
+-- Utilisateur
 CREATE TABLE `user` (
   `id` bigint NOT NULL AUTO_INCREMENT,
   `email` varchar(255) NOT NULL,
   `username` varchar(50) NOT NULL,
-  `password` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL,
+  `password` varchar(255) NOT NULL,
   PRIMARY KEY (`id`)
-) ENGINE=InnoDB AUTO_INCREMENT=16 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
---Thème
+-- Theme
 CREATE TABLE `subject` (
   `id` bigint NOT NULL AUTO_INCREMENT,
   `title_subject` varchar(40) DEFAULT NULL,
   `description` varchar(255) DEFAULT NULL,
   `date` date DEFAULT NULL,
   PRIMARY KEY (`id`)
-) ENGINE=InnoDB AUTO_INCREMENT=3 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_a
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Abonnement
 CREATE TABLE `subscription` (
@@ -24,7 +27,7 @@ CREATE TABLE `subscription` (
   KEY `fk_subject` (`theme_id`),
   CONSTRAINT `fk_subject` FOREIGN KEY (`theme_id`) REFERENCES `subject` (`id`) ON DELETE CASCADE,
   CONSTRAINT `fk_user` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`) ON DELETE CASCADE
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Article
 CREATE TABLE `post` (
@@ -39,10 +42,11 @@ CREATE TABLE `post` (
   KEY `user_id` (`user_id`),
   CONSTRAINT `post_ibfk_1` FOREIGN KEY (`theme_id`) REFERENCES `subject` (`id`),
   CONSTRAINT `post_ibfk_2` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`)
-) ENGINE=InnoDB AUTO_INCREMENT=14 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
-
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Commentaires
+-- Index prefixes par la table (user_id et post_id dans le script d'origine) : les noms d'index sont uniques
+-- par schema sous H2, ou les migrations sont verifiees par les tests.
 CREATE TABLE `comment` (
   `id` bigint NOT NULL AUTO_INCREMENT,
   `user_id` bigint NOT NULL,
@@ -50,9 +54,8 @@ CREATE TABLE `comment` (
   `date` date NOT NULL,
   `description` text NOT NULL,
   PRIMARY KEY (`id`),
-  KEY `user_id` (`user_id`),
-  KEY `post_id` (`post_id`),
+  KEY `comment_user_id` (`user_id`),
+  KEY `comment_post_id` (`post_id`),
   CONSTRAINT `comment_ibfk_1` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`),
   CONSTRAINT `comment_ibfk_2` FOREIGN KEY (`post_id`) REFERENCES `post` (`id`)
-) ENGINE=InnoDB AUTO_INCREMENT=31 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
-
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,13 @@
+-- Index couvrant les chemins d'acces des repositories.
+
+-- Fil global et liste triee par date : ORDER BY date, id
+CREATE INDEX `idx_post_date_id` ON `post` (`date`, `id`);
+-- Fil des abonnements, filtre par theme et par dates : theme_id = ? ORDER BY date, id
+CREATE INDEX `idx_post_theme_date_id` ON `post` (`theme_id`, `date`, `id`);
+-- Liste triee par titre
+CREATE INDEX `idx_post_title_id` ON `post` (`title`, `id`);
+-- Pages de commentaires d'un post : post_id = ? ORDER BY date, id
+CREATE INDEX `idx_comment_post_date` ON `comment` (`post_id`, `date`);
+-- Abonnes d'un theme (diffusion des nouveaux posts) : theme_id = ? -> user_id
+CREATE INDEX `idx_subscription_theme_user` ON `subscription` (`theme_id`, `user_id`);
+-- Connexion et inscription : l'unicite et la recherche par email sont portees par l'index de V3
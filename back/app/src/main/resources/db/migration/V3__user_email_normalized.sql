@@ -0,0 +1,13 @@
+-- Email normalise (espaces retires, minuscules) : unicite insensible a la casse et recherche a la connexion.
+ALTER TABLE `user` ADD COLUMN `email_normalized` varchar(255) NULL;
+UPDATE `user` SET `email_normalized` = LOWER(TRIM(`email`));
+
+-- Doublons existants (meme email a la casse ou aux espaces pres) : le compte le plus ancien garde l'email normalise,
+-- les autres recoivent '#<id> <email>' (un email normalise ne contient jamais d'espace) et ne peuvent plus se connecter
+-- tant qu'un administrateur n'a pas corrige leur email. Liste a traiter apres la migration :
+--   SELECT `id`, `email` FROM `user` WHERE `email_normalized` LIKE '#% %';
+UPDATE `user` SET `email_normalized` = LEFT(CONCAT('#', `id`, ' ', `email_normalized`), 255)
+WHERE `id` NOT IN (SELECT `kept_id` FROM (SELECT MIN(`id`) AS `kept_id` FROM `user` GROUP BY `email_normalized`) AS `kept`);
+
+ALTER TABLE `user` MODIFY `email_normalized` varchar(255) NOT NULL;
+CREATE UNIQUE INDEX `uk_user_email_normalized` ON `user` (`email_normalized`);
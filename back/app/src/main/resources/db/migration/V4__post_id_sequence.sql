@@ -0,0 +1,12 @@
+-- Identifiants des posts alloues par blocs (sequence emulee par la table post_seq, optimiseur pooled-lo) :
+-- contrairement a AUTO_INCREMENT, Hibernate connait l'identifiant avant l'INSERT et peut regrouper les insertions en lots JDBC.
+CREATE TABLE `post_seq` (
+  `next_val` bigint DEFAULT NULL
+) ENGINE=InnoDB;
+INSERT INTO `post_seq` (`next_val`) SELECT COALESCE(MAX(`id`), 0) + 1 FROM `post`;
+
+-- Plus d'AUTO_INCREMENT : un INSERT sans identifiant pourrait sinon prendre un identifiant deja reserve par un bloc.
+-- La cle etrangere comment.post_id interdit de modifier la colonne tant que les verifications sont actives.
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE `post` MODIFY `id` bigint NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,14 @@
+-- Validateurs des GET conditionnels (ETag / Last-Modified) lus en une seule requete, sans charger les ressources.
+
+-- Version (verrou optimiste) et date de modification du contenu propre d'un post et d'un theme
+ALTER TABLE `post` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
+ALTER TABLE `post` ADD COLUMN `updated_at` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
+ALTER TABLE `subject` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
+ALTER TABLE `subject` ADD COLUMN `updated_at` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
+
+-- Filigrane des fils : incremente a chaque post ou commentaire publie dans le theme...
+ALTER TABLE `subject` ADD COLUMN `feed_version` bigint NOT NULL DEFAULT 0;
+ALTER TABLE `subject` ADD COLUMN `feed_updated_at` datetime(3) NULL;
+-- ... et a chaque changement des abonnements d'un utilisateur
+ALTER TABLE `user` ADD COLUMN `feed_version` bigint NOT NULL DEFAULT 0;
+ALTER TABLE `user` ADD COLUMN `feed_updated_at` datetime(3) NULL;
@@ -0,0 +1,41 @@
+package com.openclassrooms.mddapi.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que seuls la sonde de santé et le scrape Prometheus sont publics, y compris quand Actuator
+ * partage le port de l'API : le port d'arrivée d'une requête ne doit jamais suffire à l'autoriser.
+ */
+@SpringBootTest(properties = {
+		"server.port=80",
+		"management.server.port=80",
+		"management.endpoints.web.exposure.include=health,metrics,prometheus"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class ActuatorSecurityIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void healthAndPrometheusArePublic() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk());
+	}
+
+	@Test
+	void otherEndpointsRequireAToken() throws Exception {
+		mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/post/feed")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/user/summaries").param("ids", "1")).andExpect(status().isForbidden());
+	}
+}
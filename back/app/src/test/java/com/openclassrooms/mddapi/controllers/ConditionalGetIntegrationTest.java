@@ -0,0 +1,207 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que les GET conditionnels sont servis en 304 après la seule lecture des validateurs,
+ * et que les écritures (commentaire, abonnement) changent l'ETag des ressources qui en dépendent.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetIntegrationTest {
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserAuthProvider userAuthProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	private Statistics statistics;
+	private UserEntity user;
+	private Subject other;
+	private PostEntity post;
+	private String authorization;
+
+	@BeforeEach
+	void setUp() {
+		int n = SEQUENCE.incrementAndGet();
+		Subject subscribed = subjectRepository.save(Subject.builder().title("etag" + n).build());
+		other = subjectRepository.save(Subject.builder().title("other" + n).build());
+		user = new UserEntity();
+		user.setUserName("etag" + n);
+		user.setEmail("etag" + n + "@mdd.fr");
+		user.setPassword("hash");
+		user.setSubjects(Set.of(subscribed));
+		user = userRepository.save(user);
+		post = postRepository.save(PostEntity.builder()
+				.title("post").description("description").date(new Timestamp(System.currentTimeMillis()))
+				.user(user).theme(subscribed).build());
+
+		authorization = "Bearer " + userAuthProvider.createToken(
+				UserDto.builder().id(user.getId()).userName(user.getUserName()).email(user.getEmail()).build());
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void unchangedPostIsRevalidatedWithASingleQuery() throws Exception {
+		MvcResult first = mockMvc.perform(get("/post/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isOk())
+				.andReturn();
+		String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isNotBlank();
+		assertThat(first.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache").contains("private");
+
+		statistics.clear();
+		MvcResult revalidated = mockMvc.perform(get("/post/{id}", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andReturn();
+		assertThat(revalidated.getResponse().getContentAsByteArray()).isEmpty();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void unchangedSubjectsAreRevalidatedByDate() throws Exception {
+		MvcResult first = mockMvc.perform(get("/subject").header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isOk())
+				.andReturn();
+		String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+		assertThat(lastModified).isNotBlank();
+
+		mockMvc.perform(get("/subject").header(HttpHeaders.AUTHORIZATION, authorization)
+						.header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void commentChangesCommentsAndFeedValidators() throws Exception {
+		String comments = etag(get("/post/{postId}/comment", post.getId()));
+		String feed = etag(get("/post/user/{userId}", user.getId()));
+		String globalFeed = etag(get("/post/feed"));
+		assertThat(revalidate(get("/post/{postId}/comment", post.getId()), comments)).isEqualTo(304);
+
+		mockMvc.perform(post("/post/{postId}/comment", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"d\",\"userId\":" + user.getId() + "}"))
+				.andExpect(status().isCreated());
+
+		assertThat(revalidate(get("/post/{postId}/comment", post.getId()), comments)).isEqualTo(200);
+		assertThat(revalidate(get("/post/user/{userId}", user.getId()), feed)).isEqualTo(200);
+		assertThat(revalidate(get("/post/feed"), globalFeed)).isEqualTo(200);
+	}
+
+	@Test
+	void commentsAreRevalidatedByEtagOnly() throws Exception {
+		MvcResult first = mockMvc.perform(get("/post/{postId}/comment", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isOk())
+				.andReturn();
+		assertThat(first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+
+		mockMvc.perform(post("/post/{postId}/comment", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"d\",\"userId\":" + user.getId() + "}"))
+				.andExpect(status().isCreated());
+
+		// Les dates des commentaires sont au jour près : un ajout de la journée ne doit pas donner de 304
+		mockMvc.perform(get("/post/{postId}/comment", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+						.header(HttpHeaders.IF_MODIFIED_SINCE, System.currentTimeMillis() + 60_000))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void renameChangesValidatorsOfEverythingShowingTheName() throws Exception {
+		mockMvc.perform(post("/post/{postId}/comment", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"d\",\"userId\":" + user.getId() + "}"))
+				.andExpect(status().isCreated());
+		String single = etag(get("/post/{id}", post.getId()));
+		String comments = etag(get("/post/{postId}/comment", post.getId()));
+		String feed = etag(get("/post/user/{userId}", user.getId()));
+		String globalFeed = etag(get("/post/feed"));
+
+		mockMvc.perform(patch("/user/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"userName\":\"renamed-" + user.getId() + "\"}"))
+				.andExpect(status().isOk());
+
+		assertThat(revalidate(get("/post/{id}", post.getId()), single)).isEqualTo(200);
+		assertThat(revalidate(get("/post/{postId}/comment", post.getId()), comments)).isEqualTo(200);
+		assertThat(revalidate(get("/post/user/{userId}", user.getId()), feed)).isEqualTo(200);
+		assertThat(revalidate(get("/post/feed"), globalFeed)).isEqualTo(200);
+	}
+
+	@Test
+	void clientSuppliedPostIdIsIgnored() throws Exception {
+		mockMvc.perform(post("/post").header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"id\":" + post.getId() + ",\"title\":\"new\",\"description\":\"d\",\"themeId\":"
+								+ post.getTheme().getId() + ",\"userId\":" + user.getId() + "}"))
+				.andExpect(status().isCreated());
+
+		assertThat(postRepository.findById(post.getId()).orElseThrow().getTitle()).isEqualTo("post");
+	}
+
+	@Test
+	void subscriptionChangesFeedValidator() throws Exception {
+		String feed = etag(get("/post/user/{userId}", user.getId()));
+		assertThat(revalidate(get("/post/user/{userId}", user.getId()), feed)).isEqualTo(304);
+
+		mockMvc.perform(post("/subscriptions/{userId}/{subjectId}", user.getId(), other.getId())
+						.header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isOk());
+
+		assertThat(revalidate(get("/post/user/{userId}", user.getId()), feed)).isEqualTo(200);
+	}
+
+	private String etag(MockHttpServletRequestBuilder request) throws Exception {
+		return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private int revalidate(MockHttpServletRequestBuilder request, String etag) throws Exception {
+		return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, authorization)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andReturn().getResponse().getStatus();
+	}
+}
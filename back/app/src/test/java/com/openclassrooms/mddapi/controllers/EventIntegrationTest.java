@@ -0,0 +1,136 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import com.openclassrooms.mddapi.services.IEventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que le flux SSE d'un utilisateur reçoit les posts de ses thèmes et les commentaires du post consulté,
+ * et rien d'autre, et qu'un flux au-delà de la limite est refusé en 503.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserAuthProvider userAuthProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private IEventService eventService;
+
+	@Test
+	void streamsSubscribedPostsAndWatchedComments() throws Exception {
+		Subject followed = subjectRepository.save(Subject.builder().title("followed-events").build());
+		Subject other = subjectRepository.save(Subject.builder().title("other-events").build());
+		UserEntity reader = user("reader-events", Set.of(followed));
+		UserEntity author = user("author-events", Set.of());
+		PostEntity watched = postRepository.save(PostEntity.builder()
+				.title("watched").description("description").date(new Timestamp(System.currentTimeMillis()))
+				.user(author).theme(followed).build());
+
+		MvcResult stream = mockMvc.perform(get("/events").param("postId", watched.getId().toString())
+						.header(HttpHeaders.AUTHORIZATION, token(reader)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		createPost(author, other, "hors du fil");
+		createPost(author, followed, "dans le fil");
+		mockMvc.perform(post("/post/{postId}/comment", watched.getId()).header(HttpHeaders.AUTHORIZATION, token(author))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"description\":\"nouveau commentaire\",\"userId\":" + author.getId() + "}"))
+				.andExpect(status().isCreated());
+
+		String events = awaitContent(stream.getResponse(), "event:comment");
+		assertThat(events).contains("event:post").contains("dans le fil").contains("nouveau commentaire");
+		// Chaque événement porte le nom de son auteur : le client l'affiche sans relire le post ou le commentaire
+		assertThat(events.split("\"userName\":\"author-events\"", -1)).hasSize(3);
+		assertThat(events).doesNotContain("hors du fil");
+	}
+
+	@Test
+	void streamsAboveTheLimitAreRefusedWith503() throws Exception {
+		UserEntity reader = user("refused-events", Set.of());
+		Object maxConnections = ReflectionTestUtils.getField(eventService, "maxConnections");
+		ReflectionTestUtils.setField(eventService, "maxConnections", 0);
+		try {
+			// EventSource n'accepte que text/event-stream : le refus ne peut pas porter d'ErrorDto JSON
+			MvcResult refused = mockMvc.perform(get("/events").accept(MediaType.TEXT_EVENT_STREAM)
+							.header(HttpHeaders.AUTHORIZATION, token(reader)))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(request().asyncNotStarted())
+					.andReturn();
+			assertThat(refused.getResponse().getContentAsString()).isEmpty();
+		} finally {
+			ReflectionTestUtils.setField(eventService, "maxConnections", maxConnections);
+		}
+	}
+
+	private UserEntity user(String name, Set<Subject> subjects) {
+		UserEntity user = new UserEntity();
+		user.setUserName(name);
+		user.setEmail(name + "@mdd.fr");
+		user.setPassword("hash");
+		user.setSubjects(subjects);
+		return userRepository.save(user);
+	}
+
+	private String token(UserEntity user) {
+		return "Bearer " + userAuthProvider.createToken(
+				UserDto.builder().id(user.getId()).userName(user.getUserName()).email(user.getEmail()).build());
+	}
+
+	private void createPost(UserEntity author, Subject subject, String title) throws Exception {
+		mockMvc.perform(post("/post").header(HttpHeaders.AUTHORIZATION, token(author))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"title\":\"" + title + "\",\"description\":\"d\",\"themeId\":" + subject.getId()
+								+ ",\"userId\":" + author.getId() + "}"))
+				.andExpect(status().isCreated());
+	}
+
+	/**
+	 * Les événements sont envoyés par le pool d'envoi, hors du thread de la requête qui les produit.
+	 */
+	private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+		for (int attempt = 0; attempt < 50 && !response.getContentAsString().contains(expected); attempt++) {
+			Thread.sleep(100);
+		}
+		return response.getContentAsString();
+	}
+}
@@ -0,0 +1,191 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import com.openclassrooms.mddapi.services.IPostImportService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que l'import NDJSON écrit les posts valides par lots et signale les lignes rejetées sans s'interrompre,
+ * et qu'il est réservé aux comptes d'import.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostImportIntegrationTest {
+
+	private static final int POSTS = 120;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserAuthProvider userAuthProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private IPostImportService postImportService;
+
+	@Value("${mddapi.post-import.batch-size:500}")
+	private int batchSize;
+
+	@Test
+	void importsValidLinesInBatchesAndReportsTheOthers() throws Exception {
+		Subject subject = subjectRepository.save(Subject.builder().title("import").build());
+		UserEntity user = user("importer");
+		allowImport(user);
+		String authorization = authorization(user);
+
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < POSTS; i++) {
+			line(body, "post" + i, subject, user);
+		}
+		body.append("{not json\n");
+		body.append("{\"title\":\"\",\"description\":\"d\",\"themeId\":").append(subject.getId())
+				.append(",\"userId\":").append(user.getId()).append("}\n");
+		body.append("\n");
+		body.append("{\"title\":\"t\",\"description\":\"d\",\"themeId\":").append(Long.MAX_VALUE)
+				.append(",\"userId\":").append(user.getId()).append("}\n");
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(post("/post/import").header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType("application/x-ndjson").content(body.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(POSTS))
+				.andExpect(jsonPath("$.rejected").value(3))
+				.andExpect(jsonPath("$.errors[0].line").value(POSTS + 1))
+				.andExpect(jsonPath("$.errors[1].line").value(POSTS + 2))
+				.andExpect(jsonPath("$.errors[2].line").value(POSTS + 4));
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(POSTS);
+		// Deux vérifications de références, quelques allocations d'identifiants et des INSERT regroupés en lots
+		assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+	}
+
+	@Test
+	void rejectedBatchIsReportedAndLaterBatchesAreImported() throws Exception {
+		Subject subject = subjectRepository.save(Subject.builder().title("import-rejected").build());
+		UserEntity user = user("rejected-importer");
+		allowImport(user);
+		String authorization = authorization(user);
+
+		StringBuilder body = new StringBuilder();
+		line(body, "rejected", subject, user);
+		for (int i = 1; i < batchSize + POSTS; i++) {
+			line(body, "post" + i, subject, user);
+		}
+
+		// La contrainte ne peut être vérifiée qu'au flush : l'exception vient de l'EntityManager, non traduite
+		jdbcTemplate.execute("ALTER TABLE post ADD CONSTRAINT ck_import_rejected CHECK (title <> 'rejected')");
+		try {
+			mockMvc.perform(post("/post/import").header(HttpHeaders.AUTHORIZATION, authorization)
+							.contentType("application/x-ndjson").content(body.toString()))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.imported").value(POSTS))
+					.andExpect(jsonPath("$.rejected").value(batchSize))
+					.andExpect(jsonPath("$.errors[0].line").value(1))
+					.andExpect(jsonPath("$.errors[0].message").value(startsWith("Batch rejected by the database")));
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE post DROP CONSTRAINT ck_import_rejected");
+		}
+	}
+
+	@Test
+	void otherUsersCannotImport() throws Exception {
+		Subject subject = subjectRepository.save(Subject.builder().title("import-forbidden").build());
+		UserEntity importer = user("allowed-importer");
+		allowImport(importer);
+		UserEntity user = user("forbidden-importer");
+
+		StringBuilder body = new StringBuilder();
+		line(body, "forbidden", subject, importer);
+		mockMvc.perform(post("/post/import").header(HttpHeaders.AUTHORIZATION, authorization(user))
+						.contentType("application/x-ndjson").content(body.toString()))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.message").value("Post import is reserved to importer accounts"));
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post WHERE theme_id = ?", Long.class, subject.getId()))
+				.isZero();
+	}
+
+	@Test
+	void tooLongLineIsRejectedAndLaterLinesAreImported() throws Exception {
+		Subject subject = subjectRepository.save(Subject.builder().title("import-long").build());
+		UserEntity user = user("long-importer");
+		allowImport(user);
+		int maxLineBytes = 1024;
+		ReflectionTestUtils.setField(postImportService, "maxLineBytes", maxLineBytes);
+
+		StringBuilder body = new StringBuilder();
+		line(body, "before", subject, user);
+		body.append("{\"title\":\"long\",\"description\":\"").append("d".repeat(maxLineBytes)).append("\"}\n");
+		line(body, "after", subject, user);
+		try {
+			mockMvc.perform(post("/post/import").header(HttpHeaders.AUTHORIZATION, authorization(user))
+							.contentType("application/x-ndjson").content(body.toString()))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.imported").value(2))
+					.andExpect(jsonPath("$.rejected").value(1))
+					.andExpect(jsonPath("$.errors[0].line").value(2))
+					.andExpect(jsonPath("$.errors[0].message").value("Line must not exceed " + maxLineBytes + " bytes"));
+		} finally {
+			ReflectionTestUtils.setField(postImportService, "maxLineBytes", 1_048_576);
+		}
+	}
+
+	private void allowImport(UserEntity user) {
+		ReflectionTestUtils.setField(postImportService, "importerIds", Set.of(user.getId()));
+	}
+
+	private UserEntity user(String name) {
+		UserEntity user = new UserEntity();
+		user.setUserName(name);
+		user.setEmail(name + "@mdd.fr");
+		user.setPassword("hash");
+		return userRepository.save(user);
+	}
+
+	private String authorization(UserEntity user) {
+		return "Bearer " + userAuthProvider.createToken(
+				UserDto.builder().id(user.getId()).userName(user.getUserName()).email(user.getEmail()).build());
+	}
+
+	private static void line(StringBuilder body, String title, Subject subject, UserEntity user) {
+		body.append("{\"title\":\"").append(title).append("\",\"description\":\"d\",\"themeId\":")
+				.append(subject.getId()).append(",\"userId\":").append(user.getId()).append("}\n");
+	}
+}
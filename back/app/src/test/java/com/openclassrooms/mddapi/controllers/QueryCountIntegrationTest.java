@@ -0,0 +1,229 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.configuration.SqlStatementCounter;
+import com.openclassrooms.mddapi.configuration.SqlStatementMetricsFilter;
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie, à l'aide des statistiques Hibernate, le nombre de requêtes SQL émises par les points de terminaison
+ * qui lisent ou référencent un utilisateur : ses abonnements ne sont chargés que là où ils sont affichés.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryCountIntegrationTest {
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserAuthProvider userAuthProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@SpyBean
+	private SqlStatementCounter sqlStatementCounter;
+
+	private Statistics statistics;
+	private UserEntity user;
+	private Subject subscribed;
+	private Subject other;
+	private PostEntity post;
+	private String authorization;
+
+	@BeforeEach
+	void setUp() {
+		int n = SEQUENCE.incrementAndGet();
+		subscribed = subjectRepository.save(Subject.builder().title("java" + n).build());
+		other = subjectRepository.save(Subject.builder().title("angular" + n).build());
+		user = new UserEntity();
+		user.setUserName("user" + n);
+		user.setEmail("user" + n + "@mdd.fr");
+		user.setPassword("hash");
+		user.setSubjects(Set.of(subscribed));
+		user = userRepository.save(user);
+		post = postRepository.save(PostEntity.builder()
+				.title("post").description("description").date(new Timestamp(System.currentTimeMillis()))
+				.user(user).theme(subscribed).build());
+
+		authorization = "Bearer " + userAuthProvider.createToken(
+				UserDto.builder().id(user.getId()).userName(user.getUserName()).email(user.getEmail()).build());
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void getUserLoadsUserAndSubscriptionsInOneQuery() throws Exception {
+		assertThat(queries(get("/user/{id}", user.getId()))).isEqualTo(1);
+	}
+
+	@Test
+	void getSubjectsForUserLoadsUserAndSubscriptionsInOneQuery() throws Exception {
+		assertThat(queries(get("/subjects/user/{userId}", user.getId()))).isEqualTo(1);
+	}
+
+	/**
+	 * Une seule insertion, le thème et l'auteur n'étant vérifiés que par les clés étrangères,
+	 * suivie de l'incrément du filigrane du fil du thème. Le nom de l'auteur est repris du profil en cache.
+	 */
+	@Test
+	void createPostIsASingleInsertAndAFeedBump() throws Exception {
+		cacheProfile();
+		String body = "{\"title\":\"t\",\"description\":\"d\",\"themeId\":" + subscribed.getId()
+				+ ",\"userId\":" + user.getId() + "}";
+		assertThat(writes(post("/post").contentType(MediaType.APPLICATION_JSON).content(body),
+				jsonPath("$.userName").value(user.getUserName()))).isEqualTo(2);
+	}
+
+	/**
+	 * Une seule insertion, le post et l'auteur n'étant vérifiés que par les clés étrangères,
+	 * suivie de l'incrément du filigrane du fil du thème du post. Le nom de l'auteur est repris du profil en cache.
+	 */
+	@Test
+	void addCommentIsASingleInsertAndAFeedBump() throws Exception {
+		cacheProfile();
+		String body = "{\"description\":\"d\",\"userId\":" + user.getId() + "}";
+		assertThat(writes(post("/post/{postId}/comment", post.getId())
+				.contentType(MediaType.APPLICATION_JSON).content(body),
+				jsonPath("$.userName").value(user.getUserName()))).isEqualTo(2);
+	}
+
+	/**
+	 * Hors du cache, le nom est lu en base et non repris du token, qui garde le nom d'avant un renommage.
+	 */
+	@Test
+	void createdPostAndCommentCarryTheCurrentNameWhenTheProfileIsNotCached() throws Exception {
+		user.setUserName("renamed" + user.getId());
+		userRepository.save(user);
+
+		String postBody = "{\"title\":\"t\",\"description\":\"d\",\"themeId\":" + subscribed.getId()
+				+ ",\"userId\":" + user.getId() + "}";
+		mockMvc.perform(post("/post").header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON).content(postBody))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.userName").value(user.getUserName()));
+		mockMvc.perform(post("/post/{postId}/comment", post.getId()).header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"d\",\"userId\":" + user.getId() + "}"))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.userName").value(user.getUserName()));
+	}
+
+	/**
+	 * Une seule insertion native, doublons et références inconnues étant rejetés par les contraintes,
+	 * suivie de l'incrément du filigrane du fil de l'utilisateur.
+	 */
+	@Test
+	void subscribeIsASingleInsertAndAFeedBump() throws Exception {
+		assertThat(queries(post("/subscriptions/{userId}/{subjectId}", user.getId(), other.getId()))).isEqualTo(2);
+	}
+
+	/**
+	 * Le nombre de requêtes compté par les statistiques Hibernate est publié par point de terminaison.
+	 */
+	@Test
+	void statementCountIsPublishedPerEndpoint() throws Exception {
+		DistributionSummary summary = meterRegistry.summary(SqlStatementMetricsFilter.METRIC,
+				"method", "GET", "uri", "/user/{id}");
+		long before = summary.count();
+		double totalBefore = summary.totalAmount();
+
+		long queries = queries(get("/user/{id}", user.getId()));
+
+		assertThat(summary.count()).isEqualTo(before + 1);
+		assertThat(summary.totalAmount() - totalBefore).isEqualTo(queries);
+	}
+
+	@Test
+	void constraintViolationsAreTranslated() throws Exception {
+		mockMvc.perform(post("/subscriptions/{userId}/{subjectId}", user.getId(), subscribed.getId())
+						.header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isConflict());
+		mockMvc.perform(post("/subscriptions/{userId}/{subjectId}", user.getId(), Long.MAX_VALUE)
+						.header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(post("/post/{postId}/comment", Long.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"d\",\"userId\":" + user.getId() + "}"))
+				.andExpect(status().isNotFound());
+	}
+
+	private void cacheProfile() throws Exception {
+		mockMvc.perform(get("/user/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isOk());
+	}
+
+	/**
+	 * Exécute une écriture et renvoie le nombre de requêtes préparées sur les tables métier. La réservation d'un bloc
+	 * d'identifiants dans post_seq est exclue : le bloc est partagé par tous les tests du contexte, sa réservation
+	 * dépend donc de leur ordre.
+	 */
+	private long writes(MockHttpServletRequestBuilder request, ResultMatcher... expectations) throws Exception {
+		clearInvocations(sqlStatementCounter);
+		mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().is2xxSuccessful())
+				.andExpectAll(expectations);
+		ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+		verify(sqlStatementCounter, atLeast(0)).inspect(statements.capture());
+		return statements.getAllValues().stream()
+				.filter(sql -> !sql.toLowerCase(Locale.ROOT).contains("post_seq"))
+				.count();
+	}
+
+	private long queries(MockHttpServletRequestBuilder request, ResultMatcher... expectations) throws Exception {
+		statistics.clear();
+		mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().is2xxSuccessful())
+				.andExpectAll(expectations);
+		return statistics.getPrepareStatementCount();
+	}
+}
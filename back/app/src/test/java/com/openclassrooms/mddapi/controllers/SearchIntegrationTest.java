@@ -0,0 +1,131 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que les posts et commentaires créés par l'API sont indexés et retrouvés par la recherche,
+ * filtrée par thème et paginée par pertinence.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SearchIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserAuthProvider userAuthProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	private UserEntity user;
+	private Subject java;
+	private Subject angular;
+	private String authorization;
+
+	@BeforeEach
+	void setUp() {
+		java = subjectRepository.save(Subject.builder().title("java-search").build());
+		angular = subjectRepository.save(Subject.builder().title("angular-search").build());
+		user = new UserEntity();
+		user.setUserName("searcher");
+		user.setEmail("searcher@mdd.fr");
+		user.setPassword("hash");
+		user = userRepository.save(user);
+		authorization = "Bearer " + userAuthProvider.createToken(
+				UserDto.builder().id(user.getId()).userName(user.getUserName()).email(user.getEmail()).build());
+	}
+
+	@Test
+	void findsPostsAndCommentsBySubject() throws Exception {
+		long javaPost = createPost(java, "Architecture hexagonale", "Ports et adaptateurs avec Spring");
+		createPost(angular, "Signaux Angular", "Une architecture hexagonale côté client");
+		mockMvc.perform(post("/post/{postId}/comment", javaPost).header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"description\":\"Les adaptateurs hexagonaux se testent facilement\",\"userId\":"
+								+ user.getId() + "}"))
+				.andExpect(status().isCreated());
+
+		JsonNode all = awaitHits("hexagonale", null, 3);
+		assertThat(all.get("content").get(0).get("title").asText()).isEqualTo("Architecture hexagonale");
+
+		JsonNode javaOnly = search("hexagonale", java.getId(), null, 20);
+		assertThat(javaOnly.get("content")).hasSize(2);
+		assertThat(javaOnly.get("content")).allSatisfy(hit -> {
+			assertThat(hit.get("postId").asLong()).isEqualTo(javaPost);
+			assertThat(hit.get("subjectId").asLong()).isEqualTo(java.getId());
+		});
+
+		JsonNode first = search("hexagonale", null, null, 2);
+		assertThat(first.get("content")).hasSize(2);
+		JsonNode second = search("hexagonale", null, first.get("nextCursor").asText(), 2);
+		assertThat(second.get("content")).hasSize(1);
+		assertThat(second.has("nextCursor")).isFalse();
+	}
+
+	private long createPost(Subject subject, String title, String description) throws Exception {
+		String body = objectMapper.writeValueAsString(Map.of(
+				"title", title, "description", description, "themeId", subject.getId(), "userId", user.getId()));
+		String response = mockMvc.perform(post("/post").header(HttpHeaders.AUTHORIZATION, authorization)
+						.contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(response).get("id").asLong();
+	}
+
+	/**
+	 * Les écritures ne deviennent visibles qu'au prochain rafraîchissement de l'index.
+	 */
+	private JsonNode awaitHits(String text, Long subjectId, int expected) throws Exception {
+		JsonNode page = search(text, subjectId, null, 20);
+		for (int attempt = 0; attempt < 50 && page.get("content").size() < expected; attempt++) {
+			Thread.sleep(100);
+			page = search(text, subjectId, null, 20);
+		}
+		assertThat(page.get("content")).hasSize(expected);
+		return page;
+	}
+
+	private JsonNode search(String text, Long subjectId, String cursor, int size) throws Exception {
+		var request = get("/search").header(HttpHeaders.AUTHORIZATION, authorization)
+				.param("q", text).param("size", String.valueOf(size));
+		if (subjectId != null) {
+			request.param("subjectId", subjectId.toString());
+		}
+		if (cursor != null) {
+			request.param("cursor", cursor);
+		}
+		String response = mockMvc.perform(request).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(response);
+	}
+}
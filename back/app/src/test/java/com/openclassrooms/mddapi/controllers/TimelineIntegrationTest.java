@@ -0,0 +1,108 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import com.openclassrooms.mddapi.repositories.SubjectRepository;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que le fil matérialisé en mémoire et les curseurs construits depuis la base désignent les mêmes posts :
+ * les dates des posts créés sont à la précision de la colonne, et la pagination ne saute ni ne répète aucun post.
+ */
+@SpringBootTest(properties = "mddapi.timeline.enabled=true")
+@AutoConfigureMockMvc
+class TimelineIntegrationTest {
+
+	private static final int POSTS = 5;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserAuthProvider userAuthProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SubjectRepository subjectRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Test
+	void pagesThroughPostsCreatedWithinTheSameSecond() throws Exception {
+		Subject subject = subjectRepository.save(Subject.builder().title("timeline").build());
+		UserEntity user = new UserEntity();
+		user.setUserName("timeline");
+		user.setEmail("timeline@mdd.fr");
+		user.setPassword("hash");
+		user.setSubjects(Set.of(subject));
+		user = userRepository.save(user);
+		String authorization = "Bearer " + userAuthProvider.createToken(
+				UserDto.builder().id(user.getId()).userName(user.getUserName()).email(user.getEmail()).build());
+
+		// Charge le fil en mémoire avant les créations, qui y sont alors insérées
+		page(get("/post/user/{userId}", user.getId()), authorization);
+		List<Long> created = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			String response = mockMvc.perform(post("/post").header(HttpHeaders.AUTHORIZATION, authorization)
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"title\":\"t" + i + "\",\"description\":\"d\",\"themeId\":" + subject.getId()
+									+ ",\"userId\":" + user.getId() + "}"))
+					.andExpect(status().isCreated())
+					.andReturn().getResponse().getContentAsString();
+			created.add(objectMapper.readTree(response).get("id").asLong());
+		}
+		assertThat(postRepository.findAllById(created))
+				.allSatisfy(post -> assertThat(post.getDate().getTime() % 1000).isZero());
+
+		List<Long> paged = new ArrayList<>();
+		String cursor = null;
+		do {
+			MockHttpServletRequestBuilder request = get("/post/user/{userId}", user.getId()).param("size", "2");
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			JsonNode page = page(request, authorization);
+			page.get("content").forEach(post -> paged.add(post.get("id").asLong()));
+			cursor = page.has("nextCursor") ? page.get("nextCursor").asText() : null;
+		} while (cursor != null);
+
+		Collections.reverse(created);
+		assertThat(paged).containsExactlyElementsOf(created);
+	}
+
+	private JsonNode page(MockHttpServletRequestBuilder request, String authorization) throws Exception {
+		String response = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, authorization))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(response);
+	}
+}
@@ -0,0 +1,88 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import com.openclassrooms.mddapi.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que la mise à jour partielle du profil refuse les champs vides ou invalides
+ * sans modifier l'utilisateur, et applique les champs valides.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserUpdateIntegrationTest {
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserAuthProvider userAuthProvider;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private UserEntity user;
+	private String authorization;
+
+	@BeforeEach
+	void setUp() {
+		int n = SEQUENCE.incrementAndGet();
+		user = new UserEntity();
+		user.setUserName("update" + n);
+		user.setEmail("update" + n + "@mdd.fr");
+		user.setPassword("hash");
+		user = userRepository.save(user);
+		authorization = "Bearer " + userAuthProvider.createToken(
+				UserDto.builder().id(user.getId()).userName(user.getUserName()).email(user.getEmail()).build());
+	}
+
+	@Test
+	void blankUserNameIsRejected() throws Exception {
+		update("{\"userName\":\"  \"}").andExpect(status().isBadRequest());
+		update("{\"userName\":\"\"}").andExpect(status().isBadRequest());
+
+		assertThat(userRepository.findById(user.getId()).orElseThrow().getUserName()).isEqualTo(user.getUserName());
+	}
+
+	@Test
+	void blankOrMalformedEmailIsRejected() throws Exception {
+		update("{\"email\":\"\"}").andExpect(status().isBadRequest());
+		update("{\"email\":\"not-an-email\"}").andExpect(status().isBadRequest());
+
+		assertThat(userRepository.findById(user.getId()).orElseThrow().getEmail()).isEqualTo(user.getEmail());
+	}
+
+	@Test
+	void validFieldsAreApplied() throws Exception {
+		update("{\"userName\":\"renamed" + user.getId() + "\"}")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.userName").value("renamed" + user.getId()))
+				.andExpect(jsonPath("$.email").value(user.getEmail()));
+	}
+
+	private ResultActions update(String body) throws Exception {
+		return mockMvc.perform(patch("/user/{id}", user.getId())
+				.header(HttpHeaders.AUTHORIZATION, authorization)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body));
+	}
+}
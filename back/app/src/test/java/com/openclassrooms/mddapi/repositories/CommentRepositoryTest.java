@@ -0,0 +1,92 @@
+package com.openclassrooms.mddapi.repositories;
+
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.entities.CommentEntity;
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que la lecture paginée des commentaires coûte une seule requête par page,
+ * quel que soit le nombre d'auteurs distincts.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CommentRepositoryTest {
+
+	private static final int AUTHORS = 30;
+	private static final int COMMENTS = 90;
+	private static final int PAGE_SIZE = 20;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	private Long postId;
+
+	@BeforeEach
+	void setUp() {
+		List<UserEntity> authors = new ArrayList<>();
+		for (int i = 0; i < AUTHORS; i++) {
+			authors.add(entityManager.persist(UserEntity.builder()
+					.userName("user" + i).email("user" + i + "@mdd.fr").password("hash").build()));
+		}
+		Subject subject = entityManager.persist(Subject.builder().title("java").build());
+		PostEntity post = entityManager.persist(PostEntity.builder()
+				.title("post").description("description").date(new Timestamp(System.currentTimeMillis()))
+				.user(authors.get(0)).theme(subject).build());
+		for (int i = 0; i < COMMENTS; i++) {
+			entityManager.persist(CommentEntity.builder()
+					.description("comment" + i).date(new Date())
+					.user(authors.get(i % AUTHORS)).post(post).build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+		postId = post.getId();
+	}
+
+	@Test
+	void eachPageIsASingleStatement() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		List<CommentDto> all = new ArrayList<>();
+		List<Long> statementsPerPage = new ArrayList<>();
+
+		CommentDto last = null;
+		do {
+			statistics.clear();
+			List<CommentDto> page = last == null
+					? commentRepository.findPageByPostId(postId, PageRequest.ofSize(PAGE_SIZE))
+					: commentRepository.findPageByPostIdAfter(postId, last.getDate(), last.getId(), PageRequest.ofSize(PAGE_SIZE));
+			statementsPerPage.add(statistics.getPrepareStatementCount());
+			all.addAll(page);
+			last = page.isEmpty() ? null : page.get(page.size() - 1);
+		} while (last != null);
+
+		assertThat(all).hasSize(COMMENTS);
+		assertThat(all).allSatisfy(comment -> assertThat(comment.getUserName()).isNotNull());
+		assertThat(all).extracting(CommentDto::getId).isSorted();
+		assertThat(statementsPerPage).containsOnly(1L);
+	}
+}
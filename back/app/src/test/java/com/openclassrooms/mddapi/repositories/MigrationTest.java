@@ -0,0 +1,58 @@
+package com.openclassrooms.mddapi.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que le schéma produit par les migrations Flyway est celui attendu par les entités
+ * (ddl-auto=validate, comme en production), et que V3 reprend les emails en double sans échouer.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+		"spring.flyway.enabled=true",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MigrationTest {
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void migratedSchemaIsValidatedByHibernate() {
+		assertThat(flyway.info().pending()).isEmpty();
+		assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("5");
+		assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM post_seq", Long.class)).isEqualTo(1L);
+	}
+
+	@Test
+	void duplicateEmailsAreKeptForTheOldestAccountOnly() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:migration-duplicates;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(dataSource).target("2").load().migrate();
+		JdbcTemplate database = new JdbcTemplate(dataSource);
+		database.update("INSERT INTO `user` (id, email, username, password) VALUES (1, 'alice@mdd.fr', 'alice', 'hash')");
+		database.update("INSERT INTO `user` (id, email, username, password) VALUES (2, ' Alice@MDD.fr', 'alice2', 'hash')");
+		database.update("INSERT INTO `user` (id, email, username, password) VALUES (3, 'bob@mdd.fr', 'bob', 'hash')");
+
+		Flyway.configure().dataSource(dataSource).load().migrate();
+
+		List<String> normalized = database.queryForList("SELECT email_normalized FROM `user` ORDER BY id", String.class);
+		assertThat(normalized).containsExactly("alice@mdd.fr", "#2 alice@mdd.fr", "bob@mdd.fr");
+		assertThat(database.queryForList("SELECT id FROM `user` WHERE email_normalized LIKE '#% %'", Long.class))
+				.containsExactly(2L);
+	}
+}
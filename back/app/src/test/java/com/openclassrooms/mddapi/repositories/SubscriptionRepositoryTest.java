@@ -0,0 +1,66 @@
+package com.openclassrooms.mddapi.repositories;
+
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie que les abonnements groupés sont idempotents et que les thèmes inconnus sont rejetés
+ * par la clé étrangère.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SubscriptionRepositoryTest {
+
+	private static final int SUBJECTS = 20;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private SubscriptionRepository subscriptionRepository;
+
+	private Long userId;
+	private List<Long> subjectIds;
+
+	@BeforeEach
+	void setUp() {
+		userId = entityManager.persist(UserEntity.builder()
+				.userName("user").email("user@mdd.fr").password("hash").build()).getId();
+		subjectIds = new ArrayList<>();
+		for (int i = 0; i < SUBJECTS; i++) {
+			subjectIds.add(entityManager.persist(Subject.builder().title("subject" + i).build()).getId());
+		}
+		entityManager.flush();
+	}
+
+	@Test
+	void insertAllIsIdempotent() {
+		subscriptionRepository.insertAll(userId, subjectIds.subList(0, SUBJECTS / 2));
+		subscriptionRepository.insertAll(userId, subjectIds);
+
+		assertThat(subscriptionRepository.findByUserId(userId)).hasSize(SUBJECTS);
+
+		assertThat(subscriptionRepository.deleteAllForUser(userId, subjectIds.subList(0, SUBJECTS / 2)))
+				.isEqualTo(SUBJECTS / 2);
+		assertThat(subscriptionRepository.findByUserId(userId)).hasSize(SUBJECTS - SUBJECTS / 2);
+	}
+
+	@Test
+	void insertAllRejectsUnknownSubjects() {
+		assertThatThrownBy(() -> subscriptionRepository.insertAll(userId, List.of(subjectIds.get(0), Long.MAX_VALUE)))
+				.isInstanceOf(DataIntegrityViolationException.class);
+	}
+}
@@ -0,0 +1,140 @@
+package com.openclassrooms.mddapi.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+import com.openclassrooms.mddapi.repositories.SubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Vérifie la distribution des événements aux flux ouverts : files bornées et éviction des clients lents,
+ * exclusion de l'auteur, désabonnement, et libération de la place d'un flux dont l'ouverture échoue.
+ * Le pool d'envoi est remplacé par un exécuteur inactif : les événements restent dans les files, où ils sont comptés.
+ */
+class EventServiceTest {
+
+	private final SubscriptionRepository subscriptionRepository = mock(SubscriptionRepository.class);
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private EventService eventService;
+
+	@BeforeEach
+	void setUp() {
+		eventService = new EventService(subscriptionRepository, new ObjectMapper(), meterRegistry);
+		ReflectionTestUtils.setField(eventService, "maxConnections", 1);
+		ReflectionTestUtils.setField(eventService, "bufferSize", 4);
+		ReflectionTestUtils.setField(eventService, "timeout", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(eventService, "heartbeatInterval", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(eventService, "dispatchThreads", 1);
+		eventService.init();
+		ReflectionTestUtils.setField(eventService, "dispatcher", (Executor) task -> {
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		eventService.shutdown();
+	}
+
+	@Test
+	void failedConnectionReleasesItsSlot() {
+		when(subscriptionRepository.findSubjectIdsByUserId(1L))
+				.thenThrow(new DataAccessResourceFailureException("database down"))
+				.thenReturn(List.of(7L));
+
+		assertThatThrownBy(() -> eventService.connect(1L, 3L)).isInstanceOf(DataAccessResourceFailureException.class);
+		assertThat(meterRegistry.get("mddapi.events.connections").gauge().value()).isZero();
+		assertThat(ReflectionTestUtils.<Object>getField(eventService, "byUser")).asInstanceOf(MAP).isEmpty();
+		assertThat(ReflectionTestUtils.<Object>getField(eventService, "byPost")).asInstanceOf(MAP).isEmpty();
+
+		// La seule place disponible est de nouveau libre
+		assertThat(eventService.connect(1L, 3L)).isNotNull();
+		assertThatThrownBy(() -> eventService.connect(1L, null)).isInstanceOf(AppException.class);
+	}
+
+	@Test
+	void slowConsumerIsEvictedWhenItsBufferIsFull() {
+		when(subscriptionRepository.findSubjectIdsByUserId(1L)).thenReturn(List.of(7L));
+		eventService.connect(1L, null);
+
+		// Le battement de cœur envoyé à l'ouverture occupe la première place de la file
+		for (long id = 1; id < 4; id++) {
+			eventService.onPostCreated(post(id, 7L, 2));
+		}
+		assertThat(queued(1L)).isEqualTo(4);
+		assertThat(meterRegistry.get("mddapi.events.evicted").counter().count()).isZero();
+
+		eventService.onPostCreated(post(4L, 7L, 2));
+
+		assertThat(meterRegistry.get("mddapi.events.evicted").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("mddapi.events.connections").gauge().value()).isZero();
+		assertThat(ReflectionTestUtils.<Object>getField(eventService, "byUser")).asInstanceOf(MAP).isEmpty();
+		assertThat(ReflectionTestUtils.<Object>getField(eventService, "bySubject")).asInstanceOf(MAP).isEmpty();
+
+		// La place libérée par l'éviction permet au client de se reconnecter
+		assertThat(eventService.connect(1L, null)).isNotNull();
+	}
+
+	@Test
+	void authorDoesNotReceiveItsOwnPostsAndComments() {
+		ReflectionTestUtils.setField(eventService, "maxConnections", 2);
+		when(subscriptionRepository.findSubjectIdsByUserId(1L)).thenReturn(List.of(7L));
+		when(subscriptionRepository.findSubjectIdsByUserId(2L)).thenReturn(List.of(7L));
+		eventService.connect(1L, 3L);
+		eventService.connect(2L, 3L);
+
+		eventService.onPostCreated(post(10L, 7L, 1));
+		eventService.onCommentAdded(CommentDto.builder().id(20L).postId(3L).userId(2L).description("d").build());
+
+		assertThat(queued(1L)).isEqualTo(2);
+		assertThat(queued(2L)).isEqualTo(2);
+	}
+
+	@Test
+	void unsubscribedSubjectIsNoLongerStreamed() {
+		when(subscriptionRepository.findSubjectIdsByUserId(1L)).thenReturn(List.of(7L, 8L));
+		eventService.connect(1L, null);
+
+		eventService.onUnsubscribed(1L, 7L);
+		eventService.onPostCreated(post(10L, 7L, 2));
+		eventService.onPostCreated(post(11L, 8L, 2));
+
+		assertThat(queued(1L)).isEqualTo(2);
+		assertThat(ReflectionTestUtils.<Object>getField(eventService, "bySubject")).asInstanceOf(MAP).containsOnlyKeys(8L);
+	}
+
+	private static PostDto post(Long id, Long themeId, int userId) {
+		return PostDto.builder().id(id).title("post" + id).description("d").themeId(themeId).userId(userId).build();
+	}
+
+	/**
+	 * Nombre d'événements en attente dans la file du flux ouvert par l'utilisateur.
+	 */
+	private int queued(Long userId) {
+		Map<?, ? extends Collection<?>> byUser = (Map<?, ? extends Collection<?>>) ReflectionTestUtils.getField(eventService, "byUser");
+		assertThat(byUser.get(userId)).hasSize(1);
+		Object connection = byUser.get(userId).iterator().next();
+		Collection<?> queue = (Collection<?>) ReflectionTestUtils.getField(connection, "queue");
+		return queue.size();
+	}
+}
@@ -0,0 +1,136 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.repositories.CommentRepository;
+import com.openclassrooms.mddapi.repositories.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Vérifie que la reconstruction de l'index n'est visible qu'une fois terminée,
+ * et qu'une reconstruction interrompue est reprise à l'ouverture suivante de l'index.
+ */
+class SearchServiceTest {
+
+	@TempDir
+	private Path directory;
+
+	private final List<SearchService> opened = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() throws IOException {
+		for (SearchService service : opened) {
+			service.close();
+		}
+	}
+
+	@Test
+	void searchesAreServedByThePreviousIndexDuringARebuild() throws Exception {
+		PostRepository posts = mock(PostRepository.class);
+		CommentRepository comments = mock(CommentRepository.class);
+		when(comments.findSearchDocumentsAfter(anyLong(), any())).thenReturn(List.of());
+		when(posts.findSearchDocumentsAfter(anyLong(), any())).thenReturn(List.of(post(1L, "Architecture hexagonale")));
+		SearchService service = open(posts, comments);
+		service.rebuild();
+		assertThat(hits(service)).isEqualTo(1);
+
+		AtomicInteger hitsDuringRebuild = new AtomicInteger(-1);
+		when(posts.findSearchDocumentsAfter(anyLong(), any())).thenAnswer(invocation -> {
+			// Laisse passer plusieurs rafraîchissements périodiques avant de chercher
+			Thread.sleep(200);
+			hitsDuringRebuild.set(hits(service));
+			return List.of();
+		});
+		service.rebuild();
+
+		assertThat(hitsDuringRebuild.get()).isEqualTo(1);
+		assertThat(hits(service)).isZero();
+	}
+
+	@Test
+	void interruptedRebuildIsResumedOnNextStart() throws Exception {
+		PostRepository posts = mock(PostRepository.class);
+		CommentRepository comments = mock(CommentRepository.class);
+		when(posts.findSearchDocumentsAfter(anyLong(), any())).thenReturn(List.of(post(1L, "Architecture hexagonale")));
+		when(comments.findSearchDocumentsAfter(anyLong(), any())).thenThrow(new IllegalStateException("database down"));
+		SearchService interrupted = open(posts, comments);
+		assertThatThrownBy(interrupted::rebuild).isInstanceOf(IllegalStateException.class);
+		// La fermeture rend durable l'index partiel, qui contient un document
+		opened.remove(interrupted);
+		interrupted.close();
+
+		PostRepository postsAfterRestart = mock(PostRepository.class);
+		CommentRepository commentsAfterRestart = mock(CommentRepository.class);
+		when(postsAfterRestart.findSearchDocumentsAfter(anyLong(), any())).thenReturn(List.of(post(1L, "Architecture hexagonale")));
+		when(commentsAfterRestart.findSearchDocumentsAfter(anyLong(), any())).thenReturn(List.of());
+		SearchService restarted = open(postsAfterRestart, commentsAfterRestart);
+		restarted.rebuildIfNeeded();
+		verify(commentsAfterRestart).findSearchDocumentsAfter(anyLong(), any());
+		opened.remove(restarted);
+		restarted.close();
+
+		PostRepository postsAfterSecondRestart = mock(PostRepository.class);
+		SearchService rebuilt = open(postsAfterSecondRestart, mock(CommentRepository.class));
+		rebuilt.rebuildIfNeeded();
+		verify(postsAfterSecondRestart, never()).findSearchDocumentsAfter(anyLong(), any());
+		assertThat(hits(rebuilt)).isEqualTo(1);
+	}
+
+	private SearchService open(PostRepository posts, CommentRepository comments) throws IOException {
+		SearchService service = new SearchService(posts, comments);
+		ReflectionTestUtils.setField(service, "enabled", true);
+		ReflectionTestUtils.setField(service, "directoryPath", directory.toString());
+		ReflectionTestUtils.setField(service, "refreshInterval", Duration.ofMillis(10));
+		ReflectionTestUtils.setField(service, "commitInterval", Duration.ofMillis(10));
+		service.open();
+		opened.add(service);
+		return service;
+	}
+
+	private static int hits(SearchService service) {
+		return service.search("hexagonale", null, null, 20).getContent().size();
+	}
+
+	private static PostRepository.SearchDocument post(Long id, String title) {
+		return new PostDocument(id, title);
+	}
+
+	private record PostDocument(Long id, String title) implements PostRepository.SearchDocument {
+		@Override
+		public Long getId() {
+			return id;
+		}
+
+		@Override
+		public Long getThemeId() {
+			return 1L;
+		}
+
+		@Override
+		public String getTitle() {
+			return title;
+		}
+
+		@Override
+		public String getDescription() {
+			return "Ports et adaptateurs avec Spring";
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.AppException;
+import com.openclassrooms.mddapi.model.dtos.SignUpDto;
+import com.openclassrooms.mddapi.model.dtos.UpdateUserDto;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie que seule la violation de l'index unique sur l'email normalisé est présentée comme un doublon,
+ * les autres refus de la base donnant une erreur générique.
+ */
+@SpringBootTest
+class UserServiceIntegrationTest {
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private IUserService userService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void duplicateEmailIsReportedAsExistingUser() {
+		int n = SEQUENCE.incrementAndGet();
+		userService.register(new SignUpDto("duplicate" + n, "duplicate" + n + "@mdd.fr", "password"));
+
+		assertThatThrownBy(() -> userService.register(new SignUpDto("other" + n, " Duplicate" + n + "@MDD.fr", "password")))
+				.isInstanceOf(AppException.class)
+				.hasMessage("User already exists");
+	}
+
+	@Test
+	void otherViolationsAreReportedAsInvalidUser() {
+		int n = SEQUENCE.incrementAndGet();
+		UserDto user = userService.register(new SignUpDto("accepted" + n, "accepted" + n + "@mdd.fr", "password"));
+
+		jdbcTemplate.execute("ALTER TABLE user ADD CONSTRAINT ck_user_rejected CHECK (username <> 'rejected')");
+		try {
+			assertThatThrownBy(() -> userService.register(new SignUpDto("rejected", "rejected" + n + "@mdd.fr", "password")))
+					.isInstanceOf(AppException.class)
+					.hasMessage("Invalid user");
+			assertThatThrownBy(() -> userService.updateUser(user.getId(), new UpdateUserDto("rejected", null)))
+					.isInstanceOf(AppException.class)
+					.hasMessage("Invalid user");
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE user DROP CONSTRAINT ck_user_rejected");
+		}
+	}
+}
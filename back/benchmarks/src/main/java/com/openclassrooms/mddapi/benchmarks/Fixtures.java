@@ -0,0 +1,159 @@
+package com.openclassrooms.mddapi.benchmarks;
+
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import com.openclassrooms.mddapi.model.FeedCursor;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.CommentEntity;
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Jeux de données réalistes des benchmarks : tailles de page de l'API, textes de la longueur d'un vrai post,
+ * dates et identifiants distincts. Les données sont déterministes pour que les résultats restent comparables.
+ */
+final class Fixtures {
+
+    static final String SECRET_KEY = "benchmark-secret-key";
+
+    private static final long START = Timestamp.valueOf("2024-01-15 09:30:00").getTime();
+
+    private static final String[] SUBJECTS = {"Java", "Spring", "Angular", "TypeScript", "Docker", "Kubernetes",
+            "SQL", "Sécurité", "Tests", "Architecture", "DevOps", "Performance"};
+
+    private static final String PARAGRAPH = "Retour d'expérience sur la migration d'une application Spring Boot "
+            + "vers les threads virtuels : le pool de connexions devient la vraie limite, il faut donc mesurer "
+            + "le temps d'attente d'une connexion avant d'augmenter la concurrence. ";
+
+    private Fixtures() {
+    }
+
+    static List<Subject> subjects() {
+        List<Subject> subjects = new ArrayList<>(SUBJECTS.length);
+        for (int i = 0; i < SUBJECTS.length; i++) {
+            subjects.add(Subject.builder()
+                    .id((long) i + 1)
+                    .title(SUBJECTS[i])
+                    .description("Actualités, astuces et questions autour de " + SUBJECTS[i] + ".")
+                    .date(new Date(START))
+                    .build());
+        }
+        return subjects;
+    }
+
+    static List<UserEntity> users(int count) {
+        List<UserEntity> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(UserEntity.builder()
+                    .id((long) i + 1)
+                    .userName("developpeur" + i)
+                    .email("developpeur" + i + "@mdd.fr")
+                    .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2VQ8dK5h1/2Q7C6bQkL6N2S")
+                    .build());
+        }
+        return users;
+    }
+
+    static List<PostEntity> posts(int count) {
+        List<Subject> subjects = subjects();
+        List<UserEntity> authors = users(count);
+        List<PostEntity> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(PostEntity.builder()
+                    .id((long) i + 1)
+                    .title("Threads virtuels et pool de connexions, épisode " + i)
+                    .description(PARAGRAPH.repeat(4))
+                    .date(new Timestamp(START + i * 60_000L))
+                    .user(authors.get(i))
+                    .theme(subjects.get(i % subjects.size()))
+                    .build());
+        }
+        return posts;
+    }
+
+    static List<CommentEntity> comments(int count) {
+        PostEntity post = posts(1).get(0);
+        List<UserEntity> authors = users(count);
+        List<CommentEntity> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(CommentEntity.builder()
+                    .id((long) i + 1)
+                    .description("Même constat de notre côté, le débit plafonne dès que le pool Hikari sature.")
+                    .date(new Date(START + i * 30_000L))
+                    .user(authors.get(i))
+                    .post(post)
+                    .build());
+        }
+        return comments;
+    }
+
+    /**
+     * Page du fil telle que renvoyée par GET /post/feed?latestComment=true.
+     */
+    static PageDto<PostDto> postPage(int size) {
+        List<PostDto> posts = new ArrayList<>(size + 1);
+        for (PostEntity post : posts(size + 1)) {
+            posts.add(PostDto.builder()
+                    .id(post.getId())
+                    .title(post.getTitle())
+                    .description(post.getDescription())
+                    .themeId(post.getTheme().getId())
+                    .userId(post.getUser().getId().intValue())
+                    .userName(post.getUser().getUserName())
+                    .date(post.getDate())
+                    .commentCount(post.getId() * 3)
+                    .latestComment(comment(post.getId()))
+                    .build());
+        }
+        return PageDto.of(posts, size, post -> new FeedCursor(post.getDate(), post.getId()));
+    }
+
+    /**
+     * Page de commentaires telle que renvoyée par GET /post/{postId}/comment.
+     */
+    static PageDto<CommentDto> commentPage(int size) {
+        List<CommentDto> comments = new ArrayList<>(size + 1);
+        for (long id = 1; id <= size + 1; id++) {
+            comments.add(comment(id));
+        }
+        return PageDto.of(comments, size, comment -> new FeedCursor(comment.getDate(), comment.getId()));
+    }
+
+    private static CommentDto comment(long id) {
+        return CommentDto.builder()
+                .id(id)
+                .description("Même constat de notre côté, le débit plafonne dès que le pool Hikari sature.")
+                .date(new Date(START + id * 30_000L))
+                .userId(id)
+                .postId(1L)
+                .userName("developpeur" + id)
+                .build();
+    }
+
+    static UserDto user(long id) {
+        return UserDto.builder().id(id).userName("developpeur" + id).email("developpeur" + id + "@mdd.fr").build();
+    }
+
+    /**
+     * Construit le UserAuthProvider comme le ferait Spring : valeurs des @Value puis méthode @PostConstruct.
+     *
+     * @param tokenCacheSize la taille du cache des tokens vérifiés
+     */
+    static UserAuthProvider userAuthProvider(long tokenCacheSize) {
+        UserAuthProvider provider = new UserAuthProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(provider, "tokenCacheSize", tokenCacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
@@ -0,0 +1,91 @@
+package com.openclassrooms.mddapi.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.openclassrooms.mddapi.configuration.JacksonConfig;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PageDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation des pages de posts et de commentaires par l'ObjectMapper de JacksonConfig,
+ * et lecture du corps d'une création de post. Les writers et readers sont préparés une fois,
+ * comme le fait MappingJackson2HttpMessageConverter. Seules les pages dépendent de size :
+ * la lecture du corps a son propre état, pour n'être mesurée qu'une fois.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pages {
+
+        @Param({"20", "100"})
+        private int size;
+
+        private ObjectWriter postPageWriter;
+        private ObjectWriter commentPageWriter;
+
+        private PageDto<PostDto> postPage;
+        private PageDto<CommentDto> commentPage;
+
+        @Setup
+        public void setUp() {
+            ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+            postPageWriter = objectMapper.writerFor(new TypeReference<PageDto<PostDto>>() { });
+            commentPageWriter = objectMapper.writerFor(new TypeReference<PageDto<CommentDto>>() { });
+
+            postPage = Fixtures.postPage(size);
+            commentPage = Fixtures.commentPage(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PostBody {
+
+        private ObjectReader postReader;
+
+        private byte[] body;
+
+        @Setup
+        public void setUp() throws JsonProcessingException {
+            ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+            postReader = objectMapper.readerFor(PostDto.class);
+
+            PostDto post = Fixtures.postPage(1).getContent().get(0);
+            body = objectMapper.writeValueAsString(PostDto.builder()
+                            .title(post.getTitle())
+                            .description(post.getDescription())
+                            .themeId(post.getThemeId())
+                            .userId(post.getUserId())
+                            .build())
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public byte[] writePostPage(Pages pages) throws JsonProcessingException {
+        return pages.postPageWriter.writeValueAsBytes(pages.postPage);
+    }
+
+    @Benchmark
+    public byte[] writeCommentPage(Pages pages) throws JsonProcessingException {
+        return pages.commentPageWriter.writeValueAsBytes(pages.commentPage);
+    }
+
+    @Benchmark
+    public PostDto readPost(PostBody postBody) throws IOException {
+        return postBody.postReader.readValue(postBody.body);
+    }
+}
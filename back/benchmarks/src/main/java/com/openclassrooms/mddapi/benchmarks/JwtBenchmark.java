@@ -0,0 +1,101 @@
+package com.openclassrooms.mddapi.benchmarks;
+
+import com.openclassrooms.mddapi.configuration.JwtAuthFilter;
+import com.openclassrooms.mddapi.configuration.UserAuthProvider;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Création et validation des tokens JWT, et traitement de l'en-tête Authorization par JwtAuthFilter.
+ * La validation est mesurée sur un token déjà en cache et sur des tokens toujours vérifiés (cache désactivé).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    /**
+     * Nombre de tokens distincts parcourus par validateUncached, puissance de deux pour le masque d'index.
+     */
+    private static final int UNCACHED_TOKENS = 4096;
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private UserAuthProvider provider;
+    private UserAuthProvider uncachedProvider;
+    private JwtAuthFilter filter;
+
+    private String token;
+    private String[] uncachedTokens;
+    private int next;
+
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        provider = Fixtures.userAuthProvider(10_000);
+        uncachedProvider = Fixtures.userAuthProvider(0);
+        filter = new JwtAuthFilter(provider);
+
+        token = provider.createToken(Fixtures.user(1));
+        provider.validateToken(token);
+        uncachedTokens = new String[UNCACHED_TOKENS];
+        for (int i = 0; i < UNCACHED_TOKENS; i++) {
+            uncachedTokens[i] = uncachedProvider.createToken(Fixtures.user(i + 1));
+        }
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/post/feed");
+        authenticatedRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/post/feed");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return provider.createToken(Fixtures.user(1));
+    }
+
+    @Benchmark
+    public Authentication validateCached() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication validateUncached() {
+        next = (next + 1) & (UNCACHED_TOKENS - 1);
+        return uncachedProvider.validateToken(uncachedTokens[next]);
+    }
+
+    @Benchmark
+    public Authentication filterBearer() throws ServletException, IOException {
+        return filter(authenticatedRequest);
+    }
+
+    @Benchmark
+    public Authentication filterAnonymous() throws ServletException, IOException {
+        return filter(anonymousRequest);
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
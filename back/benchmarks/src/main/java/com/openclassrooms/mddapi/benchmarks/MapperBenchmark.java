@@ -0,0 +1,74 @@
+package com.openclassrooms.mddapi.benchmarks;
+
+import com.openclassrooms.mddapi.mapper.CommentMapperImpl;
+import com.openclassrooms.mddapi.mapper.PostMapper;
+import com.openclassrooms.mddapi.mapper.SubjectMapper;
+import com.openclassrooms.mddapi.mapper.UserMapper;
+import com.openclassrooms.mddapi.model.dtos.CommentDto;
+import com.openclassrooms.mddapi.model.dtos.PostDto;
+import com.openclassrooms.mddapi.model.dtos.SubjectDto;
+import com.openclassrooms.mddapi.model.dtos.UserDto;
+import com.openclassrooms.mddapi.model.entities.CommentEntity;
+import com.openclassrooms.mddapi.model.entities.PostEntity;
+import com.openclassrooms.mddapi.model.entities.Subject;
+import com.openclassrooms.mddapi.model.entities.UserEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion de listes d'entités en DTO, aux tailles de page par défaut et maximale de l'API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private final PostMapper postMapper = new PostMapper();
+    private final UserMapper userMapper = new UserMapper();
+    private final SubjectMapper subjectMapper = new SubjectMapper();
+    private final CommentMapperImpl commentMapper = new CommentMapperImpl();
+
+    private List<PostEntity> posts;
+    private List<UserEntity> users;
+    private List<Subject> subjects;
+    private List<CommentEntity> comments;
+
+    @Setup
+    public void setUp() {
+        posts = Fixtures.posts(size);
+        users = Fixtures.users(size);
+        subjects = Fixtures.subjects();
+        comments = Fixtures.comments(size);
+    }
+
+    @Benchmark
+    public List<PostDto> posts() {
+        return postMapper.toDto(posts);
+    }
+
+    @Benchmark
+    public List<UserDto> users() {
+        return userMapper.toDto(users);
+    }
+
+    /**
+     * Les thèmes ne sont pas paginés : la liste complète est convertie quelle que soit la taille.
+     */
+    @Benchmark
+    public List<SubjectDto> subjects() {
+        return subjectMapper.toDto(subjects);
+    }
+
+    @Benchmark
+    public List<CommentDto> comments() {
+        return commentMapper.toDto(comments);
+    }
+}
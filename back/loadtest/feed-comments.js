@@ -0,0 +1,39 @@
+// Charge de lecture sur le fil d'actualite et les commentaires, a lancer avec k6 (https://k6.io) :
+//   k6 run -e EMAIL=user@mail.fr -e PASSWORD=secret -e POST_ID=1 loadtest/feed-comments.js
+// Comparer les resultats (http_req_duration, http_reqs) avec et sans -Pvirtual-threads.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const POST_ID = __ENV.POST_ID || '1';
+
+export const options = {
+  scenarios: {
+    feed: {
+      executor: 'ramping-vus',
+      stages: [
+        { duration: '30s', target: 200 },
+        { duration: '1m', target: 1000 },
+        { duration: '30s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const response = http.post(`${BASE_URL}/auth/login`,
+    JSON.stringify({ email: __ENV.EMAIL, password: __ENV.PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  return { token: response.json('token') };
+}
+
+export default function (data) {
+  const params = { headers: { Authorization: `Bearer ${data.token}` } };
+  const feed = http.get(`${BASE_URL}/post/feed?size=20`, params);
+  check(feed, { 'feed 200': (r) => r.status === 200 });
+  const comments = http.get(`${BASE_URL}/post/${POST_ID}/comment?size=20`, params);
+  check(comments, { 'comments 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,66 @@
+// Taille et debit des reponses JSON par point de terminaison, sans et avec compression gzip, a lancer avec k6 :
+//   k6 run -e EMAIL=user@mail.fr -e PASSWORD=secret -e USER_ID=1 -e POST_ID=1 loadtest/payloads.js
+// body_bytes{endpoint:...} donne la taille du JSON, data_received{scenario:...} les octets recus sur le reseau.
+// Comparer avec mddapi.json.indent-output=true et server.compression.enabled=false pour mesurer le gain.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const USER_ID = __ENV.USER_ID || '1';
+const POST_ID = __ENV.POST_ID || '1';
+
+const ENDPOINTS = {
+  subjects: '/subject',
+  user_subjects: `/subjects/user/${USER_ID}`,
+  posts: '/post?size=100',
+  feed: `/post/user/${USER_ID}?size=100`,
+  comments: `/post/${POST_ID}/comment?size=100`,
+  user: `/user/${USER_ID}`,
+};
+
+const bodyBytes = new Trend('body_bytes');
+
+const scenario = (encoding, startTime) => ({
+  executor: 'constant-vus',
+  vus: 50,
+  duration: '30s',
+  startTime,
+  env: { ENCODING: encoding },
+});
+
+export const options = {
+  scenarios: {
+    identity: scenario('identity', '0s'),
+    gzip: scenario('gzip', '30s'),
+  },
+  thresholds: Object.assign(
+    {
+      'data_received{scenario:identity}': ['count>=0'],
+      'data_received{scenario:gzip}': ['count>=0'],
+    },
+    ...Object.keys(ENDPOINTS).map((name) => ({
+      [`body_bytes{endpoint:${name}}`]: ['avg>=0'],
+      [`http_req_duration{endpoint:${name},scenario:identity}`]: ['p(95)>=0'],
+      [`http_req_duration{endpoint:${name},scenario:gzip}`]: ['p(95)>=0'],
+    })),
+  ),
+};
+
+export function setup() {
+  const response = http.post(`${BASE_URL}/auth/login`,
+    JSON.stringify({ email: __ENV.EMAIL, password: __ENV.PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  return { token: response.json('token') };
+}
+
+export default function (data) {
+  for (const [name, path] of Object.entries(ENDPOINTS)) {
+    const response = http.get(`${BASE_URL}${path}`, {
+      headers: { Authorization: `Bearer ${data.token}`, 'Accept-Encoding': __ENV.ENCODING },
+      tags: { endpoint: name },
+    });
+    check(response, { [`${name} 200`]: (r) => r.status === 200 });
+    bodyBytes.add(response.body ? response.body.length : 0, { endpoint: name });
+  }
+}
@@ -0,0 +1,48 @@
+// Charge d'ecriture (posts, commentaires, abonnements), a lancer avec k6 (https://k6.io) :
+//   k6 run -e EMAIL=user@mail.fr -e PASSWORD=secret -e USER_ID=1 -e SUBJECT_ID=1 -e POST_ID=1 loadtest/writes.js
+// Chaque ecriture ne doit emettre qu'un INSERT : comparer http_req_duration et le debit avant/apres.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const USER_ID = Number(__ENV.USER_ID || '1');
+const SUBJECT_ID = Number(__ENV.SUBJECT_ID || '1');
+const POST_ID = __ENV.POST_ID || '1';
+
+// Le 409 d'un abonnement deja present est une reponse attendue, pas un echec.
+http.setResponseCallback(http.expectedStatuses({ min: 200, max: 299 }, 409));
+
+export const options = {
+  scenarios: {
+    writes: {
+      executor: 'constant-arrival-rate',
+      rate: 500,
+      timeUnit: '1s',
+      duration: '1m',
+      preAllocatedVUs: 200,
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const response = http.post(`${BASE_URL}/auth/login`,
+    JSON.stringify({ email: __ENV.EMAIL, password: __ENV.PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  return { token: response.json('token') };
+}
+
+export default function (data) {
+  const params = { headers: { Authorization: `Bearer ${data.token}`, 'Content-Type': 'application/json' } };
+  const post = http.post(`${BASE_URL}/post`,
+    JSON.stringify({ title: 'k6', description: 'charge', themeId: SUBJECT_ID, userId: USER_ID }), params);
+  check(post, { 'post 2xx': (r) => r.status >= 200 && r.status < 300 });
+  const comment = http.post(`${BASE_URL}/post/${POST_ID}/comment`,
+    JSON.stringify({ description: 'charge', userId: USER_ID }), params);
+  check(comment, { 'comment 2xx': (r) => r.status >= 200 && r.status < 300 });
+  // Un abonnement deja present doit etre rejete en 409 par la cle primaire, sans lecture prealable.
+  const subscription = http.post(`${BASE_URL}/subscriptions/${USER_ID}/${SUBJECT_ID}`, null, params);
+  check(subscription, { 'subscribe 2xx/409': (r) => r.status === 409 || (r.status >= 200 && r.status < 300) });
+}
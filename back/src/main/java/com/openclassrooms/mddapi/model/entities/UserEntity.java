@@ -1,43 +0,0 @@
-package com.openclassrooms.mddapi.model.entities;
-
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.util.HashSet;
-import java.util.Set;
-
-@AllArgsConstructor
-@NoArgsConstructor
-@Builder
-@Entity
-@Data
-@Table(name = "user")
-public class UserEntity {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "ID")
-    private Long id;
-
-    @Column(name = "USERNAME")
-    private String userName;
-
-    @Column(name = "EMAIL")
-    private String email;
-
-    @Transient
-    private String token;
-
-    @Column(name = "PASSWORD")
-    private String password;
-
-    @ManyToMany(fetch = FetchType.EAGER)
-    @JoinTable(
-            name = "subscription",
-            joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "theme_id")
-    )
-    private Set<Subject> subjects = new HashSet<>();  //  HashSet pour éviter les doublons et initialiser la collection
-}
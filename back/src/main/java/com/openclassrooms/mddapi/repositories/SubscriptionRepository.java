@@ -1,19 +0,0 @@
-package com.openclassrooms.mddapi.repositories;
-
-import com.openclassrooms.mddapi.model.SubscriptionId;
-import com.openclassrooms.mddapi.model.entities.Subscription;
-import com.openclassrooms.mddapi.model.entities.UserEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.List;
-
-@Repository
-public interface SubscriptionRepository extends JpaRepository<Subscription, SubscriptionId> {
-    List<Subscription> findByUserId(Long userId);
-
-    List<Subscription> findBySubjectId(Long subjectId);
-    List<Subscription> findByUser(UserEntity user);
-}
-
-
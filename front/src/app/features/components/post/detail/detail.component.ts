@@ -9,8 +9,7 @@ import { CommentService } from '../service/comment.service';
 import { UserService } from '../../user/service/user.sevice';
 import { Comment, CreateComment } from '../interface/comment.model';
 import { AuthService } from 'src/app/features/auth/auth.service'; 
-import { forkJoin, of, Subscription } from 'rxjs';
-import { catchError, map, switchMap } from 'rxjs/operators';
+import { Subscription } from 'rxjs';
 import { DatePipe } from '@angular/common';
 
 /**
@@ -34,6 +33,7 @@ export class DetailComponent implements OnInit {
   comments: any[] = [];
   user: any;
   userMap = new Map<number, string>(); 
+  nextCursor?: string;
   private postId: number | undefined;
   private subscriptions: Subscription[] = [];
 
@@ -80,18 +80,15 @@ export class DetailComponent implements OnInit {
 
     if (postIdParam !== null) {
       this.postId = +postIdParam; 
-      this.postService.getPostById(this.postId).pipe(
-        switchMap(post => {
-          this.posts = post;
-          this.loadSubject(post.themeId);
-          return this.userService.getUserById(post.userId);
-        })
-      ).subscribe(user => {
-        if (user) {
-          this.userMap.set(user.id, user.userName);
-          this.loadComments(this.postId!); 
+      const postSubscription = this.postService.getPostById(this.postId).subscribe(post => {
+        this.posts = post;
+        if (post.userName) {
+          this.userMap.set(post.userId, post.userName);
         }
+        this.loadSubject(post.themeId);
+        this.loadComments(this.postId!);
       });
+      this.subscriptions.push(postSubscription);
     }
     this.loadSubjects();
   }
@@ -123,37 +120,41 @@ export class DetailComponent implements OnInit {
   }
 
   /**
-   * Charge les commentaires associés à un post spécifique et enrichit chaque commentaire avec le nom de l'utilisateur.
+   * Charge la première page des commentaires d'un post, le nom de leur auteur étant fourni par l'API.
    * 
    * @param postId - L'identifiant du post.
    */
 
 loadComments(postId: number): void {
-  const subjectsSubscription = this.commentService.getCommentsByPostId(postId).subscribe(comments => {
-      const userObservables = comments.map(comment => {
-          //  pour récupérer le nom d'utilisateur pour chaque commentaire
-          return this.userService.getUserById(comment.userId).pipe(
-            map(user => {
-                return {...comment, userName: user.userName};
-            }),
-            catchError(error => {
-                console.error(`Erreur lors de la récupération du nom d'utilisateur pour userId: ${comment.userId}`, error);
-                return of({...comment, userName: 'Erreur de récupération'});
-            })
-        );
-        
-      });
+  this.comments = [];
+  this.nextCursor = undefined;
+  this.loadCommentPage(postId);
+}
 
-      const subjectsSubscription =  forkJoin(userObservables).subscribe(commentsWithUsers => {
-          this.comments = commentsWithUsers.map(comment => ({
-              ...comment,
-              formattedDate: this.datePipe.transform(comment.date, 'short')
-          }));
-          console.log("Commentaires après traitement:", this.comments);
-      });
-      this.subscriptions.push(subjectsSubscription);
+  /**
+   * Ajoute la page suivante des commentaires à ceux affichés.
+   */
+loadMoreComments(): void {
+  if (this.postId !== undefined && this.nextCursor) {
+    this.loadCommentPage(this.postId, this.nextCursor);
+  }
+}
+
+  /**
+   * Charge une page de commentaires et retient le jeton de la suivante.
+   * 
+   * @param postId - L'identifiant du post.
+   * @param cursor - Le jeton de la page à charger, absent pour la première page.
+   */
+private loadCommentPage(postId: number, cursor?: string): void {
+  const commentsSubscription = this.commentService.getCommentsByPostId(postId, cursor).subscribe(page => {
+      this.comments = [...this.comments, ...page.content.map(comment => ({
+          ...comment,
+          formattedDate: this.datePipe.transform(comment.date, 'short')
+      }))];
+      this.nextCursor = page.nextCursor;
   });
-  this.subscriptions.push(subjectsSubscription);
+  this.subscriptions.push(commentsSubscription);
 }
 
  /**
@@ -172,10 +173,14 @@ onSubmit(): void {
           next: (comment) => {
               this.matSnackBar.open('Commentaire ajouté avec succès', 'Fermer', { duration: 3000 });
               this.commentForm?.reset();
-          
+              // Les commentaires sont triés du plus ancien au plus récent : tant que des pages restent à charger,
+              // le nouveau commentaire apparaîtra avec la dernière
+              if (this.nextCursor) {
+                  return;
+              }
               this.comments.push({
                   ...comment,
-                  username: this.user.userName,
+                  userName: this.user.userName,
                   formattedDate: this.datePipe.transform(new Date(), 'short')
               });
           },
@@ -5,6 +5,9 @@ export interface Post {
     date:Date;
     themeId: number; 
     userId: number; 
+    userName?: string;
+    themeTitle?: string;
+    commentCount?: number;
     createdAt?: string;
     updatedAt?: string;
   }  
@@ -19,3 +22,9 @@ export interface Post {
     title: string;
     
 }
+
+  export interface Page<T> {
+    content: T[];
+    size: number;
+    nextCursor?: string;
+  }
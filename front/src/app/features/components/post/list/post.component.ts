@@ -3,7 +3,7 @@ import { Post } from '../interface/post.model';
 import { PostService } from '../service/post.service';
 import { Router } from '@angular/router';
 import { UserService } from '../../user/service/user.sevice';
-import { forkJoin, Subscription } from 'rxjs';
+import { Subscription } from 'rxjs';
 import { MatIconRegistry } from '@angular/material/icon';
 import { DomSanitizer } from '@angular/platform-browser';
 
@@ -18,10 +18,11 @@ import { DomSanitizer } from '@angular/platform-browser';
 })
 export class PostComponent implements OnInit {
 
-  userNames: { [key: number]: string } = {};
   posts : Post[] =[];
   sorted: boolean = false;
   sortAscending: boolean = true;
+  nextCursor?: string;
+  private userId?: number;
   private subscriptions: Subscription[] = [];
 
   /**
@@ -48,46 +49,51 @@ export class PostComponent implements OnInit {
   }
   
    /**
-   * Charge tous les posts disponibles et les noms des utilisateurs associés.
+   * Charge la première page du fil, avec le nom de l'auteur de chaque post.
    */
   loadPosts(): void {
-    const subjectsSubscription = this.userService.getCurrentUser().subscribe({
+    this.posts = [];
+    this.nextCursor = undefined;
+    const userSubscription = this.userService.getCurrentUser().subscribe({
       next: (user) => {
-        const subjectsSubscription =  this.postService.getPostsByUserSubject(user.id).subscribe({
-          next: (posts) => {
-            this.posts = posts;
-            console.log('Posts loaded:', this.posts);
-            this.sortPosts(); 
-          },
-          error: (error) => {
-            console.error('Erreur lors du chargement des posts', error);
-          },
-          complete: () => {
-            console.log('Chargement des posts complet');
-          }
-        });
-        this.subscriptions.push(subjectsSubscription);
+        this.userId = user.id;
+        this.loadPage();
       },
       error: (error) => {
         console.error('Erreur lors de la récupération de l\'utilisateur courant', error);
       }
     });
-    this.subscriptions.push(subjectsSubscription);    
+    this.subscriptions.push(userSubscription);
   }
 
-   /**
-   * Charge les noms des utilisateurs associés aux posts.
+  /**
+   * Ajoute la page suivante du fil aux posts affichés.
+   */
+  loadMorePosts(): void {
+    if (this.nextCursor) {
+      this.loadPage(this.nextCursor);
+    }
+  }
+
+  /**
+   * Charge une page du fil et retient le jeton de la suivante.
+   * 
+   * @param {string} cursor - Le jeton de la page à charger, absent pour la première page.
    */
-  loadUserNames(): void {
-    const userIds = Array.from(new Set(this.posts.map(post => post.userId))); 
-    const userRequests = userIds.map(id => this.userService.getUserById(id));
-    
-    const subjectsSubscription = forkJoin(userRequests).subscribe(users => {
-      users.forEach(user => {
-        this.userNames[user.id] = user.userName;
-      });
+  private loadPage(cursor?: string): void {
+    if (this.userId === undefined) {
+      return;
+    }
+    const postsSubscription = this.postService.getPostsByUserSubject(this.userId, this.sortAscending ? 'asc' : 'desc', cursor).subscribe({
+      next: (page) => {
+        this.posts = cursor ? [...this.posts, ...page.content] : page.content;
+        this.nextCursor = page.nextCursor;
+      },
+      error: (error) => {
+        console.error('Erreur lors du chargement des posts', error);
+      }
     });
-    this.subscriptions.push(subjectsSubscription);
+    this.subscriptions.push(postsSubscription);
   }
 
  /**
@@ -98,14 +104,6 @@ export class PostComponent implements OnInit {
     this.loadPosts(); 
   }
 
-  sortPosts(): void {
-    this.posts.sort((a, b) => {
-        const dateA = new Date(a.date).getTime();
-        const dateB = new Date(b.date).getTime();
-        return this.sortAscending ? dateA - dateB : dateB - dateA;
-    });
-  }
-
    /**
    * Navigue vers la page de détails d'un post spécifique.
    * 
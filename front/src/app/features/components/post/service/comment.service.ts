@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpErrorResponse } from '@angular/common/http';
-import { Observable, catchError, throwError } from 'rxjs';
+import { HttpClient, HttpErrorResponse, HttpParams } from '@angular/common/http';
+import { Observable, catchError, map, throwError } from 'rxjs';
 import { Comment, CreateComment } from '../interface/comment.model'; 
+import { Page } from '../interface/post.model';
 
 /**
  * Service pour gérer les opérations CRUD des commentaires.
@@ -22,13 +23,15 @@ export class CommentService {
   constructor(private httpClient: HttpClient) {}
 
   /**
-   * Récupère tous les commentaires associés à un post spécifique.
+   * Récupère une page des commentaires associés à un post spécifique.
    * 
    * @param {number} postId - L'identifiant du post pour lequel récupérer les commentaires.
-   * @returns {Observable<Comment[]>} - Un observable contenant un tableau de commentaires.
+   * @param {string} cursor - Le jeton nextCursor de la page précédente, absent pour la première page.
+   * @returns {Observable<Page<Comment>>} - Un observable contenant les commentaires de la page et le jeton de la suivante.
    */
-  getCommentsByPostId(postId: number): Observable<Comment[]> {
-    return this.httpClient.get<Comment[]>(`${this.pathService}/post/${postId}/comment`);
+  getCommentsByPostId(postId: number, cursor?: string): Observable<Page<Comment>> {
+    const params = cursor ? new HttpParams().set('cursor', cursor) : new HttpParams();
+    return this.httpClient.get<Page<Comment>>(`${this.pathService}/post/${postId}/comment`, { params });
   }
   /**
    * Ajoute un nouveau commentaire à un post spécifique.
@@ -1,7 +1,7 @@
 import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Observable, map } from 'rxjs';
-import { Post } from '../interface/post.model';
+import { Observable } from 'rxjs';
+import { Page, Post } from '../interface/post.model';
 import { AuthService } from 'src/app/features/auth/auth.service';
 /**
  * Service pour gérer les opérations CRUD des posts.
@@ -63,18 +63,27 @@ export class PostService {
 
 
 
-  getPostsByUserSubject(userId: number, sortBy: string = 'date', order: string = 'desc'): Observable<Post[]> {
+  /**
+   * Récupère une page du fil des posts des thèmes auxquels l'utilisateur est abonné, triée par le serveur.
+   * 
+   * @param {number} userId - L'identifiant de l'utilisateur.
+   * @param {string} order - L'ordre de tri par date, 'asc' ou 'desc'.
+   * @param {string} cursor - Le jeton nextCursor de la page précédente, absent pour la première page.
+   * @returns {Observable<Page<Post>>} - Un observable contenant les posts de la page et le jeton de la suivante.
+   */
+  getPostsByUserSubject(userId: number, order: 'asc' | 'desc' = 'desc', cursor?: string): Observable<Page<Post>> {
     const token = this.authService.getToken(); 
 
     const headers = new HttpHeaders({
       'Authorization': `Bearer ${token}`
     });
 
-    const params = new HttpParams()
-      .set('sortBy', sortBy)
-      .set('order', order);
+    let params = new HttpParams().set('order', order);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
 
-    return this.httpClient.get<Post[]>(`${this.pathService}/user/${userId}`, { headers, params });
+    return this.httpClient.get<Page<Post>>(`${this.pathService}/user/${userId}`, { headers, params });
   }
 
 }
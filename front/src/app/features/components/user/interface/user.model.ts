@@ -11,7 +11,6 @@ export interface User {
   id: number;
   userName: string;
   email: string;
-  password: string;
   token: string;
   subscription: Subject[];
   subjects: Subject[];
@@ -44,14 +44,26 @@ export class UserService {
   }
 
    /**
-   * Met à jour les informations d'un utilisateur.
+   * Met à jour partiellement le profil d'un utilisateur (nom d'utilisateur et/ou email).
    * 
    * @param {number} userId - L'identifiant de l'utilisateur à mettre à jour.
-   * @param {User} user - L'objet utilisateur contenant les nouvelles informations.
+   * @param {Partial<User>} user - Les champs du profil à modifier.
    * @returns {Observable<User>} - Un observable contenant les informations mises à jour de l'utilisateur.
    */
-  updateUser(userId: number, user: User): Observable<User> {
-    return this.httpClient.put<User>(`${this.pathService}/${userId}`, user);
+  updateUser(userId: number, user: Pick<Partial<User>, 'userName' | 'email'>): Observable<User> {
+    return this.httpClient.patch<User>(`${this.pathService}/${userId}`, { userName: user.userName, email: user.email });
+  }
+
+  /**
+   * Change le mot de passe d'un utilisateur.
+   * 
+   * @param {number} userId - L'identifiant de l'utilisateur.
+   * @param {string} currentPassword - Le mot de passe actuel.
+   * @param {string} newPassword - Le nouveau mot de passe.
+   * @returns {Observable<void>} - Un observable qui se termine lorsque le mot de passe est modifié.
+   */
+  changePassword(userId: number, currentPassword: string, newPassword: string): Observable<void> {
+    return this.httpClient.put<void>(`${this.pathService}/${userId}/password`, { currentPassword, newPassword });
   }
 
   /**
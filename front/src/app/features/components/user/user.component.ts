@@ -15,6 +15,7 @@ import { Subscription } from 'rxjs';
 })
 export class UserComponent implements OnInit {
   profileForm: FormGroup;
+  passwordForm: FormGroup;
   user: User | null = null;
 
   subscriptions: Subject[] = [];
@@ -29,8 +30,11 @@ export class UserComponent implements OnInit {
   ) {
     this.profileForm = this.fb.group({
       userName: ['', Validators.required],
-      email: ['', [Validators.required, Validators.email]],
-      password: ['', [Validators.required, Validators.minLength(8)]]
+      email: ['', [Validators.required, Validators.email]]
+    });
+    this.passwordForm = this.fb.group({
+      currentPassword: ['', Validators.required],
+      newPassword: ['', [Validators.required, Validators.minLength(8)]]
     });
   }
 
@@ -83,6 +87,26 @@ export class UserComponent implements OnInit {
     }
   }
   
+  onChangePassword(): void {
+    if (this.passwordForm.valid && this.user) {
+      const { currentPassword, newPassword } = this.passwordForm.value;
+      const passwordSubscription = this.userService.changePassword(this.user.id, currentPassword, newPassword).subscribe({
+        next: () => {
+          this.snackBar.open('Mot de passe modifié avec succès', 'Fermer', {
+            duration: 3000,
+          });
+          this.passwordForm.reset();
+        },
+        error: (error: any) => {
+          this.snackBar.open('Erreur lors du changement de mot de passe', 'Fermer', {
+            duration: 3000,
+          });
+        }
+      });
+      this.subscriptions$.push(passwordSubscription);
+    }
+  }
+
   onLogout(): void {
     this.authService.logout();
   }